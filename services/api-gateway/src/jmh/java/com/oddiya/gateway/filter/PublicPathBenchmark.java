@@ -0,0 +1,49 @@
+package com.oddiya.gateway.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public-path check: original stream over a List vs the precompiled trie
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PublicPathBenchmark {
+
+    private static final List<String> LEGACY_PUBLIC_PATHS = List.of(
+            "/api/auth/",
+            "/api/v1/auth/",
+            "/oauth2/",
+            "/login/oauth2/",
+            "/actuator/",
+            "/.well-known/",
+            "/"
+    );
+
+    @Param({"/api/plans/42", "/api/v1/auth/refresh"})
+    public String path;
+
+    @Benchmark
+    public boolean legacyStream() {
+        if (path.equals("/") || path.equals("/index.html") || path.equals("/favicon.ico")) {
+            return true;
+        }
+        return LEGACY_PUBLIC_PATHS.stream()
+                .filter(p -> !p.equals("/"))
+                .anyMatch(path::startsWith);
+    }
+
+    @Benchmark
+    public boolean precompiledTrie() {
+        return JwtAuthenticationFilter.isPublicPath(path);
+    }
+}
@@ -0,0 +1,42 @@
+package com.oddiya.gateway.filter.factory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Path rewrite: RewritePath's precompiled regex vs the PrefixRewrite table
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrefixRewriteBenchmark {
+
+    // What RewritePathGatewayFilterFactory compiles once and runs per request
+    private static final Pattern REGEX = Pattern.compile("/api/(?:v1/)?plans(?<segment>/?.*)");
+    private static final String REPLACEMENT = "/api/v1/plans${segment}";
+
+    private static final PrefixRewriteGatewayFilterFactory.RewriteTable TABLE =
+            PrefixRewriteGatewayFilterFactory.RewriteTable.compile(List.of("/api/plans", "/api/v1/plans"), "/api/v1/plans");
+
+    @Param({"/api/plans", "/api/plans/42/photos/7", "/api/v1/plans/42"})
+    public String path;
+
+    @Benchmark
+    public String regexRewritePath() {
+        return REGEX.matcher(path).replaceAll(REPLACEMENT);
+    }
+
+    @Benchmark
+    public String prefixTable() {
+        return TABLE.rewrite(path);
+    }
+}
@@ -0,0 +1,72 @@
+package com.oddiya.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwsTokenReader verification cost (verified-token cache miss) per signing algorithm
+ *
+ * Run with ./gradlew jmh; the gc profiler reports gc.alloc.rate.norm (bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwsAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private String token;
+    private Map<String, PublicKey> keys;
+    private JwsTokenReader tokenReader;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = switch (algorithm) {
+            case "RS256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                yield generator.generateKeyPair();
+            }
+            case "ES256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                yield generator.generateKeyPair();
+            }
+            default -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        };
+        keys = Map.of("oddiya-1", keyPair.getPublic());
+        token = Jwts.builder()
+                .header().keyId("oddiya-1").and()
+                .claim("userId", 123L)
+                .claim("email", "bench@example.com")
+                .subject("bench@example.com")
+                .id("0b6f3c1e-2d4a-4f8e-9c7b-5a1d2e3f4a5b")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+        tokenReader = new JwsTokenReader(30, List.of("RS256", "ES256", "EdDSA"));
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return tokenReader.read(token, keys);
+    }
+}
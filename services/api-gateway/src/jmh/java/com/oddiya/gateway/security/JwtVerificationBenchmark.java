@@ -0,0 +1,111 @@
+package com.oddiya.gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oddiya.gateway.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter
+ *
+ * - legacyUnverifiedDecode: original filter (split + Base64 String + JsonNode, no signature check)
+ * - jjwtVerify: full jjwt parse with signature check
+ * - streamingVerify: JwsTokenReader signature check + streaming claim extraction (cache miss)
+ * - cachedVerify: JwtVerifier on a repeat token (cache hit, the common case)
+ *
+ * Run with ./gradlew jmh; the gc profiler reports gc.alloc.rate.norm (bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtVerificationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String token;
+    private Map<String, PublicKey> keys;
+    private JwtParser jjwtParser;
+    private JwsTokenReader tokenReader;
+    private JwtVerifier jwtVerifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        keys = Map.of("oddiya-1", keyPair.getPublic());
+
+        long now = System.currentTimeMillis();
+        token = Jwts.builder()
+                .header().keyId("oddiya-1").and()
+                .claim("userId", 12345L)
+                .claim("email", "traveler@example.com")
+                .subject("traveler@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + TimeUnit.HOURS.toMillis(1)))
+                .signWith(keyPair.getPrivate())
+                .compact();
+
+        jjwtParser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+        tokenReader = new JwsTokenReader(30);
+
+        JwtProperties properties = new JwtProperties();
+        JwksKeyProvider keyProvider = new JwksKeyProvider(WebClient.builder(), properties) {
+            @Override
+            public Map<String, PublicKey> currentKeys() {
+                return keys;
+            }
+
+            @Override
+            public Mono<Map<String, PublicKey>> getKeys() {
+                return Mono.just(keys);
+            }
+        };
+        jwtVerifier = new JwtVerifier(keyProvider, properties, new SimpleMeterRegistry());
+        jwtVerifier.verify(token).block();
+    }
+
+    @Benchmark
+    public Long legacyUnverifiedDecode() throws Exception {
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
+        JsonNode claims = objectMapper.readTree(payload);
+        return claims.has("userId") ? claims.get("userId").asLong() : null;
+    }
+
+    @Benchmark
+    public Object jjwtVerify() {
+        Claims claims = jjwtParser.parseSignedClaims(token).getPayload();
+        return claims.get("userId");
+    }
+
+    @Benchmark
+    public Long streamingVerify() {
+        return tokenReader.read(token, keys).getUserId();
+    }
+
+    @Benchmark
+    public Long cachedVerify() {
+        return jwtVerifier.verify(token).block().getUserId();
+    }
+}
@@ -0,0 +1,182 @@
+package com.oddiya.gateway.aggregation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.oddiya.gateway.config.AggregationProperties;
+import com.oddiya.gateway.filter.LoadBalancerFilter;
+import com.oddiya.gateway.loadbalancer.UpstreamInstance;
+import com.oddiya.gateway.loadbalancer.UpstreamRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the profile screen from user-service, plan-service and video-service in parallel
+ *
+ * Each leg has its own timeout. A failed leg is listed in {@code degraded} and its part of the
+ * response is left empty, so a slow video-service costs the screen its video count, not the page.
+ * An lb://{service} leg goes to an instance chosen by UpstreamRegistry and reports its outcome
+ * there, like a routed request (see LoadBalancerFilter).
+ * Trip classification follows plan-service's TripCollectionService.
+ */
+@Slf4j
+@Component
+public class ProfileTripsAggregator {
+
+    static final String USER_LEG = "user";
+    static final String PLANS_LEG = "plans";
+    static final String VIDEOS_LEG = "videos";
+
+    private static final ParameterizedTypeReference<List<PlanSummary>> PLAN_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<VideoJobSummary>> VIDEO_LIST = new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final AggregationProperties properties;
+    private final UpstreamRegistry registry;
+    private final Clock clock;
+
+    @Autowired
+    public ProfileTripsAggregator(WebClient.Builder webClientBuilder, AggregationProperties properties,
+                                  UpstreamRegistry registry) {
+        this(webClientBuilder, properties, registry, Clock.systemDefaultZone());
+    }
+
+    ProfileTripsAggregator(WebClient.Builder webClientBuilder, AggregationProperties properties,
+                           UpstreamRegistry registry, Clock clock) {
+        this.webClient = webClientBuilder.build();
+        this.properties = properties;
+        this.registry = registry;
+        this.clock = clock;
+    }
+
+    public Mono<ProfileTripsResponse> aggregate(String userId) {
+        Mono<Optional<JsonNode>> user = leg(USER_LEG, properties.getUser(), userId, ParameterizedTypeReference.forType(JsonNode.class));
+        Mono<Optional<List<PlanSummary>>> plans = leg(PLANS_LEG, properties.getPlans(), userId, PLAN_LIST);
+        Mono<Optional<List<VideoJobSummary>>> videos = leg(VIDEOS_LEG, properties.getVideos(), userId, VIDEO_LIST);
+
+        return Mono.zip(user, plans, videos)
+                .map(legs -> merge(legs.getT1(), legs.getT2(), legs.getT3()));
+    }
+
+    private <T> Mono<Optional<T>> leg(String name, AggregationProperties.Leg leg, String userId,
+                                      ParameterizedTypeReference<T> type) {
+        return Mono.defer(() -> call(URI.create(leg.getUri()), leg, userId, type))
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    log.warn("Profile aggregation leg {} failed for userId {}: {}", name, userId, e.toString());
+                    return Mono.just(Optional.empty());
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private <T> Mono<T> call(URI uri, AggregationProperties.Leg leg, String userId, ParameterizedTypeReference<T> type) {
+        if (!LoadBalancerFilter.SCHEME.equals(uri.getScheme())) {
+            return fetch(uri, leg, userId, type);
+        }
+        String service = uri.getHost();
+        Optional<UpstreamInstance> chosen = registry.choose(service);
+        if (chosen.isEmpty()) {
+            return Mono.error(new IllegalStateException("No instances configured for " + service));
+        }
+
+        UpstreamInstance instance = chosen.get();
+        registry.start(instance);
+        return fetch(LoadBalancerFilter.resolve(uri, instance.getUri()), leg, userId, type)
+                .doOnError(e -> registry.finish(instance, isInstanceFailure(e)))
+                .doOnSuccess(body -> registry.finish(instance, false))
+                // Another leg or the client gave up; says nothing about the instance
+                .doOnCancel(() -> registry.finish(instance, false));
+    }
+
+    private <T> Mono<T> fetch(URI uri, AggregationProperties.Leg leg, String userId, ParameterizedTypeReference<T> type) {
+        return webClient.get()
+                .uri(uri)
+                .header("X-User-Id", userId)
+                .retrieve()
+                .bodyToMono(type)
+                .timeout(leg.getTimeout());
+    }
+
+    // As in LoadBalancerFilter: connect errors, timeouts and 5xx count against the instance, 4xx don't
+    private static boolean isInstanceFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException response) || response.getStatusCode().is5xxServerError();
+    }
+
+    ProfileTripsResponse merge(Optional<JsonNode> user, Optional<List<PlanSummary>> plans,
+                               Optional<List<VideoJobSummary>> videos) {
+        List<String> degraded = new ArrayList<>();
+        if (user.isEmpty()) degraded.add(USER_LEG);
+        if (plans.isEmpty()) degraded.add(PLANS_LEG);
+        if (videos.isEmpty()) degraded.add(VIDEOS_LEG);
+
+        List<PlanSummary> allPlans = plans.orElse(List.of());
+        LocalDate today = LocalDate.now(clock);
+
+        ProfileTripsResponse.TripStatistics stats = ProfileTripsResponse.TripStatistics.builder()
+                .totalTrips(allPlans.size())
+                .citiesVisited(allPlans.stream()
+                        .map(p -> extractCity(p.getTitle()))
+                        .distinct()
+                        .collect(Collectors.toList()))
+                // null rather than 0 when video-service is unavailable
+                .totalVideos(videos.map(jobs -> (int) jobs.stream().filter(j -> "COMPLETED".equals(j.getStatus())).count())
+                        .orElse(null))
+                .totalDays(allPlans.stream()
+                        .filter(p -> p.getStartDate() != null && p.getEndDate() != null)
+                        .mapToInt(p -> (int) ChronoUnit.DAYS.between(p.getStartDate(), p.getEndDate()) + 1)
+                        .sum())
+                .totalCost(allPlans.stream()
+                        .mapToInt(p -> p.getTotalCost() != null ? p.getTotalCost() : 0)
+                        .sum())
+                .build();
+
+        // Video jobs carry no plan id yet, so completed trips have no video attached
+        List<ProfileTripsResponse.CompletedTrip> completed = allPlans.stream()
+                .filter(p -> "COMPLETED".equals(p.getStatus()) || (p.getEndDate() != null && p.getEndDate().isBefore(today)))
+                .map(plan -> ProfileTripsResponse.CompletedTrip.builder()
+                        .plan(plan)
+                        .photos(List.of())
+                        .build())
+                .collect(Collectors.toList());
+
+        // PlanResponse doesn't expose status yet; treat a future plan without one as upcoming
+        List<ProfileTripsResponse.UpcomingTrip> upcoming = allPlans.stream()
+                .filter(p -> (p.getStatus() == null || "CONFIRMED".equals(p.getStatus()))
+                        && p.getStartDate() != null && p.getStartDate().isAfter(today))
+                .map(plan -> ProfileTripsResponse.UpcomingTrip.builder()
+                        .id(plan.getId())
+                        .title(plan.getTitle())
+                        .startDate(plan.getStartDate().toString())
+                        .daysUntil((int) ChronoUnit.DAYS.between(today, plan.getStartDate()))
+                        .build())
+                .collect(Collectors.toList());
+
+        return ProfileTripsResponse.builder()
+                .user(user.orElse(null))
+                .statistics(stats)
+                .completedTrips(completed)
+                .upcomingTrips(upcoming)
+                .degraded(degraded)
+                .build();
+    }
+
+    private static String extractCity(String title) {
+        if (title == null) return "Korea";
+        if (title.contains("서울") || title.toLowerCase().contains("seoul")) return "Seoul";
+        if (title.contains("부산") || title.toLowerCase().contains("busan")) return "Busan";
+        if (title.contains("제주") || title.toLowerCase().contains("jeju")) return "Jeju";
+        return "Korea";
+    }
+}
@@ -0,0 +1,78 @@
+package com.oddiya.gateway.aggregation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Profile screen payload: the user plus plan-service's TripCollectionResponse shape
+ * {@code degraded} lists the legs (user, plans, videos) that failed or timed out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileTripsResponse {
+    private JsonNode user;
+    private TripStatistics statistics;
+    private List<CompletedTrip> completedTrips;
+    private List<UpcomingTrip> upcomingTrips;
+    private List<String> degraded;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TripStatistics {
+        private Integer totalTrips;
+        private List<String> citiesVisited;
+        private Integer totalVideos;
+        private Integer totalDays;
+        private Integer totalCost;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CompletedTrip {
+        private PlanSummary plan;
+        private List<PhotoResponse> photos;
+        private VideoSummary video;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UpcomingTrip {
+        private Long id;
+        private String title;
+        private String startDate;
+        private Integer daysUntil;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PhotoResponse {
+        private Long id;
+        private String url;
+        private Integer order;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VideoSummary {
+        private Long id;
+        private String videoUrl;
+        private String status;
+    }
+}
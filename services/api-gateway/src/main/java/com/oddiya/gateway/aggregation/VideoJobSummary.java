@@ -0,0 +1,19 @@
+package com.oddiya.gateway.aggregation;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The fields of video-service's VideoJobResponse that the profile screen uses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class VideoJobSummary {
+    private Long id;
+    private String status;
+    private String videoUrl;
+}
@@ -0,0 +1,47 @@
+package com.oddiya.gateway.cache;
+
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * A cached 200 response: content type, body and the time it was stored
+ *
+ * Wire format (stored as a Redis hash value):
+ * [8 bytes cachedAtMillis][2 bytes content-type length][content-type UTF-8][body]
+ */
+@Value
+public class CachedResponse {
+    long cachedAtMillis;
+    String contentType;   // null if upstream sent none
+    byte[] body;
+
+    public boolean isExpired(Duration ttl, long nowMillis) {
+        return nowMillis - cachedAtMillis >= ttl.toMillis();
+    }
+
+    public byte[] encode() {
+        byte[] type = contentType != null ? contentType.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return ByteBuffer.allocate(8 + 2 + type.length + body.length)
+                .putLong(cachedAtMillis)
+                .putShort((short) type.length)
+                .put(type)
+                .put(body)
+                .array();
+    }
+
+    public static CachedResponse decode(byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        long cachedAt = buffer.getLong();
+        int typeLength = Short.toUnsignedInt(buffer.getShort());
+        String type = typeLength > 0
+                ? new String(encoded, buffer.position(), typeLength, StandardCharsets.UTF_8)
+                : null;
+        buffer.position(buffer.position() + typeLength);
+        byte[] body = new byte[buffer.remaining()];
+        buffer.get(body);
+        return new CachedResponse(cachedAt, type, body);
+    }
+}
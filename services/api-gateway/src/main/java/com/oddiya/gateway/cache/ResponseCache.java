@@ -0,0 +1,166 @@
+package com.oddiya.gateway.cache;
+
+import com.oddiya.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-user response cache in Redis
+ *
+ * One hash per user and group ({@code gateway:response-cache:{userId}:{group}}), one field per
+ * path+query. Evicting a group deletes the whole hash, so a write never has to enumerate the
+ * URLs it affects. Every Redis call is bounded by {@code redis-timeout}; on timeout or error the
+ * cache behaves as a miss and the request goes upstream.
+ * Metrics:
+ * - gateway.response-cache.requests {group, result=hit|miss|error}
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    static final String KEY_PREFIX = "gateway:response-cache:";
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<CompiledGroup> groups;
+
+    public ResponseCache(ReactiveRedisTemplate<String, byte[]> reactiveBytesRedisTemplate,
+                         ResponseCacheProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.redisTemplate = reactiveBytesRedisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.groups = compile(properties.getGroups());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !groups.isEmpty();
+    }
+
+    /**
+     * First group whose paths match, or null
+     */
+    public CompiledGroup groupFor(PathContainer path) {
+        for (CompiledGroup group : groups) {
+            for (PathPattern pattern : group.patterns) {
+                if (pattern.matches(path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    public Mono<Optional<CachedResponse>> get(String userId, CompiledGroup group, String field) {
+        return redisTemplate.<String, byte[]>opsForHash().get(key(userId, group.name), field)
+                .timeout(properties.getRedisTimeout())
+                .map(CachedResponse::decode)
+                .filter(cached -> !cached.isExpired(group.ttl, System.currentTimeMillis()))
+                .map(cached -> {
+                    count(group, "hit");
+                    return Optional.of(cached);
+                })
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(cached -> {
+                    if (cached.isEmpty()) {
+                        count(group, "miss");
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Response cache read failed for group {}: {}", group.name, e.getMessage());
+                    count(group, "error");
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    public Mono<Void> put(String userId, CompiledGroup group, String field, CachedResponse response) {
+        String key = key(userId, group.name);
+        return redisTemplate.<String, byte[]>opsForHash().put(key, field, response.encode())
+                .then(redisTemplate.expire(key, group.ttl))
+                .timeout(properties.getRedisTimeout())
+                .onErrorResume(e -> {
+                    log.warn("Response cache write failed for group {}: {}", group.name, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Drop every cached response in the groups a write to {@code group} invalidates
+     */
+    public Mono<Void> evict(String userId, CompiledGroup group) {
+        return Flux.fromIterable(group.invalidates)
+                .map(name -> key(userId, name))
+                .collectList()
+                .flatMap(keys -> redisTemplate.delete(keys.toArray(String[]::new)))
+                .timeout(properties.getRedisTimeout())
+                .onErrorResume(e -> {
+                    log.warn("Response cache eviction failed for group {}: {}", group.name, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    public int getMaxBodySize() {
+        return properties.getMaxBodySize();
+    }
+
+    static String key(String userId, String group) {
+        return KEY_PREFIX + userId + ":" + group;
+    }
+
+    private void count(CompiledGroup group, String result) {
+        Counter.builder("gateway.response-cache.requests")
+                .tag("group", group.name)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static List<CompiledGroup> compile(Map<String, ResponseCacheProperties.Group> config) {
+        PathPatternParser parser = new PathPatternParser();
+        List<CompiledGroup> compiled = new ArrayList<>();
+        config.forEach((name, group) -> {
+            List<PathPattern> patterns = group.getPaths().stream().map(parser::parse).toList();
+            List<String> invalidates = group.getInvalidates().isEmpty() ? List.of(name) : List.copyOf(group.getInvalidates());
+            compiled.add(new CompiledGroup(name, patterns, group.getTtl(), invalidates));
+        });
+        return List.copyOf(compiled);
+    }
+
+    /**
+     * A cache group with its path patterns parsed once at startup
+     */
+    public static final class CompiledGroup {
+        private final String name;
+        private final List<PathPattern> patterns;
+        private final Duration ttl;
+        private final List<String> invalidates;
+
+        CompiledGroup(String name, List<PathPattern> patterns, Duration ttl, List<String> invalidates) {
+            this.name = name;
+            this.patterns = patterns;
+            this.ttl = ttl;
+            this.invalidates = invalidates;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.oddiya.gateway.concurrency;
+
+import com.oddiya.gateway.config.ConcurrencyLimitProperties;
+
+/**
+ * Concurrency limit that follows observed latency (gradient algorithm)
+ *
+ * Completed requests are averaged in windows into a short-term RTT, which is compared with a
+ * long-term baseline. While latency holds near the baseline the limit grows by about
+ * sqrt(limit) per window; when it rises the limit shrinks in proportion, down to half per
+ * window. Windows where the route wasn't using half its limit leave the limit alone, so an
+ * idle route doesn't grow an unbounded limit it has never been tested at.
+ */
+public class GradientLimit {
+
+    private final ConcurrencyLimitProperties properties;
+    private final double longDecay;
+    private final int maxLimit;
+
+    // Guarded by this
+    private double estimated;
+    private double longRttNanos;
+    private int samples;
+    private long sumRttNanos;
+    private int maxInFlight;
+
+    private volatile int limit;
+
+    public GradientLimit(ConcurrencyLimitProperties properties) {
+        this(properties, properties.getInitialLimit(), properties.getMaxLimit());
+    }
+
+    /**
+     * @param maxLimit ceiling for this limit, at most the configured max-limit
+     */
+    public GradientLimit(ConcurrencyLimitProperties properties, int initialLimit, int maxLimit) {
+        this.properties = properties;
+        this.longDecay = 2.0 / (Math.max(1, properties.getLongWindow()) + 1);
+        this.maxLimit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), maxLimit));
+        this.estimated = Math.max(properties.getMinLimit(), Math.min(this.maxLimit, initialLimit));
+        this.limit = (int) estimated;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @param inFlight requests in flight on the route when this one started
+     */
+    public synchronized void onSample(long rttNanos, int inFlight) {
+        samples++;
+        sumRttNanos += rttNanos;
+        maxInFlight = Math.max(maxInFlight, inFlight);
+        if (samples < properties.getWindowSize()) {
+            return;
+        }
+
+        double shortRtt = (double) sumRttNanos / samples;
+        boolean appLimited = maxInFlight < estimated / 2;
+        samples = 0;
+        sumRttNanos = 0;
+        maxInFlight = 0;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * longDecay;
+        }
+        // A sustained drop in latency should lower the baseline quickly, or the limit over-grows
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (appLimited) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRttNanos / shortRtt));
+        double next = estimated * gradient + Math.sqrt(estimated);
+        next = estimated * (1 - properties.getSmoothing()) + next * properties.getSmoothing();
+        estimated = Math.max(properties.getMinLimit(), Math.min(maxLimit, next));
+        limit = (int) estimated;
+    }
+}
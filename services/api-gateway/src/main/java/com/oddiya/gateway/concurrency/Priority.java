@@ -0,0 +1,10 @@
+package com.oddiya.gateway.concurrency;
+
+/**
+ * Shedding order under a concurrency limit: LOW goes first, CRITICAL last
+ */
+public enum Priority {
+    LOW,
+    NORMAL,
+    CRITICAL
+}
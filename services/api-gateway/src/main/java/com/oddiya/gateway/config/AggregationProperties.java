@@ -0,0 +1,36 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Downstream endpoints and per-leg timeouts for gateway-side aggregation
+ * A leg that fails or times out is left out of the response instead of failing it.
+ * An lb://{service} leg is sent to one of the instances in gateway.upstreams.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.aggregation")
+public class AggregationProperties {
+
+    private Leg user = new Leg("lb://user-service/api/v1/users/me", Duration.ofSeconds(2));
+    private Leg plans = new Leg("lb://plan-service/api/v1/plans", Duration.ofSeconds(3));
+    private Leg videos = new Leg("lb://video-service/api/v1/videos", Duration.ofSeconds(2));
+
+    @Data
+    public static class Leg {
+        private String uri;
+        private Duration timeout;
+
+        public Leg() {
+        }
+
+        public Leg(String uri, Duration timeout) {
+            this.uri = uri;
+            this.timeout = timeout;
+        }
+    }
+}
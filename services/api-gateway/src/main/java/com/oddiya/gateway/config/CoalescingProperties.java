@@ -0,0 +1,27 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Single-flight coalescing of identical in-flight GETs
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    // Distinct in-flight keys tracked at once; requests beyond this go upstream uncoalesced
+    private int maxInFlight = 1000;
+
+    // Responses larger than this are not shared; waiters send their own request instead
+    private int maxBodySize = 1024 * 1024;
+
+    // Longest a waiter will wait for the leading request before going upstream itself
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,51 @@
+package com.oddiya.gateway.config;
+
+import com.oddiya.gateway.concurrency.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive per-route concurrency limits (gradient algorithm) with priority shedding
+ * Each request is classified by the first matching rule, or NORMAL.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Starting limit of routes without a Bulkhead; the others start at the bulkhead's size
+    private int initialLimit = 100;
+    private int minLimit = 5;
+    private int maxLimit = 500;
+
+    // Samples averaged into one short-term RTT before the limit is adjusted
+    private int windowSize = 10;
+
+    // Short-term RTTs the long-term (baseline) RTT averages over
+    private int longWindow = 600;
+
+    // How much slower than baseline the short-term RTT may be before the limit shrinks
+    private double rttTolerance = 1.5;
+
+    // Weight of each new estimate in the limit (0-1); lower is steadier
+    private double smoothing = 0.2;
+
+    // Fraction of the limit each priority may fill; CRITICAL always gets the whole limit
+    private double lowShare = 0.6;
+    private double normalShare = 0.9;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private Priority priority = Priority.NORMAL;
+        private List<String> methods = new ArrayList<>();  // empty = any method
+        private List<String> paths = new ArrayList<>();
+    }
+}
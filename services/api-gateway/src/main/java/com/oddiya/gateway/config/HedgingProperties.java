@@ -0,0 +1,39 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Hedged GETs on routes with metadata {@code hedge: true}
+ * A second copy goes to another instance once the first has been slower than the route's
+ * recent percentile; both count against one gateway-wide budget.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = true;
+
+    // Hedge after the first attempt is slower than this fraction of recent responses
+    private double percentile = 0.95;
+
+    // Response times remembered per route
+    private int window = 1000;
+
+    // Until this many responses are seen the delay is max-delay
+    private int minSamples = 100;
+
+    private Duration minDelay = Duration.ofMillis(10);
+
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    // Hedges allowed per eligible request, e.g. 0.05 = at most 5% extra upstream load
+    private double budgetRatio = 0.05;
+
+    // Unused budget that can be saved up for a burst of hedges
+    private int budgetBurst = 10;
+}
@@ -0,0 +1,39 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT verification settings for the gateway
+ * Public keys are fetched from auth-service's JWKS endpoint
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.jwt")
+public class JwtProperties {
+
+    // JWKS endpoint published by auth-service
+    private String jwksUri = "http://localhost:8081/.well-known/jwks.json";
+
+    // How long fetched keys are trusted before a background re-fetch
+    private Duration jwksRefreshInterval = Duration.ofMinutes(10);
+
+    // Minimum gap between re-fetches triggered by an unknown key id
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+
+    private Duration jwksTimeout = Duration.ofSeconds(3);
+
+    private Duration clockSkew = Duration.ofSeconds(30);
+
+    // Accepted signing algorithms (RS256, ES256, EdDSA); list the new one here before auth-service switches
+    private List<String> algorithms = new ArrayList<>(List.of("RS256"));
+
+    // Verified-token cache (keyed by SHA-256 digest of the token)
+    private long cacheMaxSize = 10_000;
+    private Duration cacheTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,41 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user token bucket in Redis, shared by all gateway replicas
+ * Each request draws the cost of the first matching rule, or default-cost.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Bucket size: the largest burst a user can spend at once
+    private int capacity = 60;
+
+    // Tokens added back per second
+    private double refillPerSecond = 1.0;
+
+    private int defaultCost = 1;
+
+    // Redis calls slower than this let the request through rather than stall it
+    private Duration redisTimeout = Duration.ofMillis(100);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private List<String> methods = new ArrayList<>();  // empty = any method
+        private List<String> paths = new ArrayList<>();
+        private int cost = 1;
+    }
+}
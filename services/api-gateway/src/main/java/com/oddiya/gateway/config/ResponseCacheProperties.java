@@ -0,0 +1,40 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user Redis response cache for idempotent GETs
+ * Each group caches GETs on its paths; writes to a group's paths evict the listed groups.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Redis calls slower than this are skipped and the request goes upstream
+    private Duration redisTimeout = Duration.ofMillis(100);
+
+    // Responses larger than this are passed through without caching
+    private int maxBodySize = 256 * 1024;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+        private List<String> paths = new ArrayList<>();
+        private Duration ttl = Duration.ofSeconds(30);
+
+        // Groups evicted when this group's paths receive a POST/PUT/PATCH/DELETE (defaults to itself)
+        private List<String> invalidates = new ArrayList<>();
+    }
+}
@@ -0,0 +1,36 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Access-token denylist published by auth-service on logout
+ * The gateway mirrors it into a local Bloom filter; only Bloom hits are confirmed in Redis.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.revocation")
+public class RevocationProperties {
+
+    private boolean enabled = true;
+
+    // Sorted set of revoked jtis scored by token expiry, and its change counter (written by auth-service)
+    private String key = "auth:revoked-jti";
+    private String versionKey = "auth:revoked-jti:version";
+
+    // How stale the local copy may get before it is re-synced
+    private Duration syncInterval = Duration.ofSeconds(5);
+
+    // Bloom filter sizing; the filter grows if more ids than this are revoked at once
+    private int expectedRevocations = 100_000;
+    private double falsePositiveRate = 0.001;
+
+    // Redis answers for Bloom hits kept until the next sync
+    private int confirmedCacheSize = 10_000;
+
+    // A Bloom hit Redis cannot confirm in time is treated as revoked
+    private Duration redisTimeout = Duration.ofMillis(100);
+}
@@ -0,0 +1,57 @@
+package com.oddiya.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static instance lists for lb://{service} routes
+ * Instances come from services below, overridden per service by the optional instances file,
+ * which is re-read when it changes.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.upstreams")
+public class UpstreamProperties {
+
+    private Strategy strategy = Strategy.POWER_OF_TWO;
+
+    // Instance URIs by service name, e.g. plan-service: http://plan-1:8083,http://plan-2:8083
+    private Map<String, List<String>> services = new LinkedHashMap<>();
+
+    // Optional YAML file of the same shape; services listed there replace the ones above
+    private String instancesFile;
+
+    // How often the instances file is checked for changes
+    private Duration reloadInterval = Duration.ofSeconds(10);
+
+    private Ejection ejection = new Ejection();
+
+    public enum Strategy {
+        // Two random instances, send to the one with fewer requests in flight
+        POWER_OF_TWO,
+        // Scan every instance for the fewest requests in flight
+        LEAST_OUTSTANDING
+    }
+
+    /**
+     * Passive health: an instance failing too often is taken out of rotation for a while
+     */
+    @Data
+    public static class Ejection {
+        // Outcomes remembered per instance
+        private int window = 20;
+
+        // Outcomes needed in the window before the failure rate is trusted
+        private int minRequests = 10;
+
+        private double failureRateThreshold = 0.5;
+
+        private Duration duration = Duration.ofSeconds(30);
+    }
+}
@@ -1,12 +1,21 @@
 package com.oddiya.gateway.controller;
 
 import com.oddiya.gateway.config.UIMessages;
+import com.oddiya.gateway.web.MessageBundles;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -19,21 +28,46 @@ import java.util.Map;
 public class MessagesController {
 
     private final UIMessages uiMessages;
+    private final MessageBundles messageBundles;
 
     /**
-     * Get all Korean UI messages
-     * Used by mobile web app to load localized strings
+     * Pick a locale for the client
+     * Uses ?locale= if given, else Accept-Language; returns the versioned bundle URL to fetch
      */
-    @GetMapping("/ko")
-    public Mono<Map<String, String>> getKoreanMessages() {
-        return Mono.just(uiMessages.getAllKorean());
+    @GetMapping
+    public Mono<ResponseEntity<Map<String, Object>>> negotiate(
+            @RequestParam(required = false) String locale,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage) {
+        String chosen = messageBundles.negotiate(locale != null ? locale : acceptLanguage);
+        String version = messageBundles.version(chosen);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("locale", chosen);
+        body.put("version", version);
+        body.put("url", "/api/messages/" + chosen + "?v=" + version);
+        body.put("available", messageBundles.locales());
+        return Mono.just(ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_LANGUAGE)
+                .body(body));
+    }
+
+    /**
+     * Get all UI messages for a locale
+     * Used by mobile web app to load localized strings; supports If-None-Match
+     */
+    @GetMapping("/{locale}")
+    public Mono<ResponseEntity<byte[]>> getMessages(@PathVariable String locale,
+                                                    @RequestParam(value = "v", required = false) String version,
+                                                    ServerHttpRequest request) {
+        return Mono.just(messageBundles.bundle(locale, version, request));
     }
 
     /**
      * Get specific message by key
      */
-    @GetMapping("/ko/{key}")
-    public Mono<String> getMessage(String key) {
-        return Mono.just(uiMessages.get(key));
+    @GetMapping("/{locale}/{key}")
+    public Mono<String> getMessage(@PathVariable String locale, @PathVariable String key) {
+        return Mono.just(uiMessages.get(locale, key));
     }
 }
@@ -0,0 +1,27 @@
+package com.oddiya.gateway.controller;
+
+import com.oddiya.gateway.web.StaticAssetRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Content-hashed CSS/JS for the web UIs
+ * GET /assets/{dir}/{name}.{hash}.{ext} (immutable, cached for a year)
+ */
+@RestController
+@RequiredArgsConstructor
+public class StaticAssetController {
+
+    private final StaticAssetRegistry staticAssets;
+
+    @GetMapping(StaticAssetRegistry.ASSET_PATH_PREFIX + "**")
+    public Mono<ResponseEntity<byte[]>> asset(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        String hashedName = path.substring(StaticAssetRegistry.ASSET_PATH_PREFIX.length());
+        return Mono.just(staticAssets.hashedAsset(hashedName, request));
+    }
+}
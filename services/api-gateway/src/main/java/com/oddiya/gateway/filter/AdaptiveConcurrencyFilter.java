@@ -0,0 +1,181 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.concurrency.GradientLimit;
+import com.oddiya.gateway.concurrency.Priority;
+import com.oddiya.gateway.config.ConcurrencyLimitProperties;
+import com.oddiya.gateway.filter.factory.BulkheadGatewayFilterFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Adaptive per-route concurrency limit with priority load shedding
+ *
+ * Each route's limit follows its observed latency ({@link GradientLimit}). A request is admitted
+ * while the route's in-flight count is under its priority's share of the limit, so as a slowing
+ * downstream pulls the limit down, LOW traffic (list refreshes) is shed first, then NORMAL,
+ * and CRITICAL (auth, plan creation) last. Shed requests get 503 with Retry-After.
+ * A route with a Bulkhead starts at the bulkhead's size and never grows past it, so the limit
+ * only ever tightens what the bulkhead already allows and overload is shed by priority, not
+ * by the bulkhead; other routes start at initial-limit and may grow to max-limit. Only exchanges that went
+ * upstream are latency samples: filters that answer themselves set {@link #NOT_FORWARDED_ATTR}.
+ * Metrics:
+ * - gateway.concurrency.limit {route}
+ * - gateway.concurrency.in-flight {route}
+ * - gateway.concurrency.shed {route,priority}
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    // Set on exchanges answered without an upstream call (cache hit, coalesced follower, rejection)
+    public static final String NOT_FORWARDED_ATTR = AdaptiveConcurrencyFilter.class.getName() + ".notForwarded";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final BulkheadGatewayFilterFactory bulkheads;
+    private final List<CompiledRule> rules;
+    private final Map<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry,
+                                     BulkheadGatewayFilterFactory bulkheads) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.bulkheads = bulkheads;
+        this.rules = compile(properties.getRules());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        RouteLimiter limiter = limiters.computeIfAbsent(route.getId(), RouteLimiter::new);
+        ServerHttpRequest request = exchange.getRequest();
+        Priority priority = priorityOf(request.getMethod(), request.getPath().pathWithinApplication());
+        int inFlight = limiter.inFlight.incrementAndGet();
+        if (inFlight > limiter.admitted(priority)) {
+            limiter.inFlight.decrementAndGet();
+            limiter.shed.get(priority).increment();
+            log.warn("Shedding {} request to route {} ({} in flight, limit {}): {}", priority, route.getId(),
+                    inFlight - 1, limiter.limit.getLimit(), request.getPath());
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            limiter.inFlight.decrementAndGet();
+            // A client hanging up says nothing about the downstream's latency, nor does a local answer
+            if (signal != SignalType.CANCEL && exchange.getAttribute(NOT_FORWARDED_ATTR) == null) {
+                limiter.limit.onSample(System.nanoTime() - startNanos, inFlight);
+            }
+        });
+    }
+
+    Priority priorityOf(HttpMethod method, PathContainer path) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule.priority;
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    private static List<CompiledRule> compile(List<ConcurrencyLimitProperties.Rule> rules) {
+        PathPatternParser parser = new PathPatternParser();
+        return rules.stream()
+                .map(rule -> new CompiledRule(
+                        rule.getPriority(),
+                        rule.getMethods().stream().map(HttpMethod::valueOf).collect(Collectors.toUnmodifiableSet()),
+                        rule.getPaths().stream().map(parser::parse).toList()))
+                .toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return -98;  // After JwtAuthenticationFilter; shed before the rate limiter charges tokens
+    }
+
+    private final class RouteLimiter {
+        private final GradientLimit limit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+        private RouteLimiter(String routeId) {
+            OptionalInt bulkhead = bulkheads.maxConcurrent(routeId);
+            this.limit = bulkhead.isPresent()
+                    ? new GradientLimit(properties, bulkhead.getAsInt(), bulkhead.getAsInt())
+                    : new GradientLimit(properties, properties.getInitialLimit(), properties.getMaxLimit());
+            Gauge.builder("gateway.concurrency.limit", limit, GradientLimit::getLimit).tag("route", routeId).register(meterRegistry);
+            Gauge.builder("gateway.concurrency.in-flight", inFlight, AtomicInteger::get).tag("route", routeId).register(meterRegistry);
+            for (Priority priority : Priority.values()) {
+                shed.put(priority, Counter.builder("gateway.concurrency.shed")
+                        .tag("route", routeId)
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+
+        private int admitted(Priority priority) {
+            int current = limit.getLimit();
+            return switch (priority) {
+                case CRITICAL -> current;
+                case NORMAL -> Math.max(1, (int) (current * properties.getNormalShare()));
+                case LOW -> Math.max(1, (int) (current * properties.getLowShare()));
+            };
+        }
+    }
+
+    @Value
+    private static class CompiledRule {
+        Priority priority;
+        Set<HttpMethod> methods;  // empty = any method
+        List<PathPattern> patterns;
+
+        boolean matches(HttpMethod method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.oddiya.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Copies the response body as it streams to the client
+ *
+ * Buffers are read without moving their read position, so the client write is unaffected.
+ * {@code onCaptured} runs after the write completes, and only if {@code capturable} accepted the
+ * response (checked once status and headers are set) and the body fit in {@code maxBodySize}.
+ */
+class BodyCapturingResponse extends ServerHttpResponseDecorator {
+
+    private final int maxBodySize;
+    private final Predicate<ServerHttpResponse> capturable;
+    private final Function<byte[], Mono<Void>> onCaptured;
+
+    BodyCapturingResponse(ServerHttpResponse delegate, int maxBodySize,
+                          Predicate<ServerHttpResponse> capturable,
+                          Function<byte[], Mono<Void>> onCaptured) {
+        super(delegate);
+        this.maxBodySize = maxBodySize;
+        this.capturable = capturable;
+        this.onCaptured = onCaptured;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!capturable.test(this)) {
+            return super.writeWith(body);
+        }
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        boolean[] overflow = {false};
+
+        Flux<? extends DataBuffer> tapped = Flux.from(body).doOnNext(buffer -> {
+            int readable = buffer.readableByteCount();
+            if (overflow[0] || copy.size() + readable > maxBodySize) {
+                overflow[0] = true;
+                return;
+            }
+            int position = buffer.readPosition();
+            byte[] bytes = new byte[readable];
+            buffer.read(bytes);
+            buffer.readPosition(position);
+            copy.writeBytes(bytes);
+        });
+
+        return super.writeWith(tapped)
+                .then(Mono.defer(() -> overflow[0] ? Mono.empty() : onCaptured.apply(copy.toByteArray())));
+    }
+}
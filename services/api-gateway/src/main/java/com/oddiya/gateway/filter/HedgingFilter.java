@@ -0,0 +1,300 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.config.HedgingProperties;
+import com.oddiya.gateway.hedging.HedgeBudget;
+import com.oddiya.gateway.hedging.HedgeDelay;
+import com.oddiya.gateway.loadbalancer.UpstreamInstance;
+import com.oddiya.gateway.loadbalancer.UpstreamRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.TimeoutException;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Hedged GETs for routes with metadata {@code hedge: true}
+ *
+ * Routes the exchange in place of NettyRoutingFilter. If the chosen instance hasn't sent response
+ * headers within the route's recent percentile response time, and the hedge budget allows, the
+ * same GET goes to a different instance. The first response wins and the other attempt is
+ * cancelled; its connection is closed. An error on the first attempt before the hedge goes out
+ * fails the exchange as usual, so breakers and ejection still see it. The winning response is
+ * handed to NettyWriteResponseFilter exactly as NettyRoutingFilter would.
+ * Metrics:
+ * - gateway.hedging.requests {route,result=primary|hedged|hedge-won|no-budget}
+ */
+@Slf4j
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    static final String METADATA_KEY = "hedge";
+
+    private final HttpClient httpClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final UpstreamRegistry registry;
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final HedgeBudget budget;
+    private final Map<String, RouteHedging> routes = new ConcurrentHashMap<>();
+
+    private volatile List<HttpHeadersFilter> headersFilters;
+
+    public HedgingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                         UpstreamRegistry registry, HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.registry = registry;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.budget = new HedgeBudget(properties.getBudgetRatio(), properties.getBudgetBurst());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        UpstreamInstance primary = exchange.getAttribute(LoadBalancerFilter.INSTANCE_ATTR);
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (!properties.isEnabled() || isAlreadyRouted(exchange) || route == null || primary == null || url == null
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !Boolean.parseBoolean(String.valueOf(route.getMetadata().get(METADATA_KEY)))) {
+            return chain.filter(exchange);
+        }
+        setAlreadyRouted(exchange);
+
+        RouteHedging hedging = routes.computeIfAbsent(route.getId(), RouteHedging::new);
+        HttpHeaders headers = requestHeaders(exchange);
+        budget.deposit();
+        long startNanos = System.nanoTime();
+
+        Mono<Attempt> first = send(url, headers, primary, false);
+        Mono<Attempt> race = Mono.create(sink -> new Race(sink, hedging).start(first, hedging.delay.current(),
+                () -> hedge(hedging, url, headers, primary)));
+        Duration timeout = responseTimeout(route);
+        if (timeout != null) {
+            race = race.timeout(timeout, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + timeout)));
+        }
+        return race
+                .doOnNext(attempt -> {
+                    hedging.delay.record(System.nanoTime() - startNanos);
+                    writeResponse(exchange, attempt);
+                })
+                .then(chain.filter(exchange));
+    }
+
+    private Optional<Mono<Attempt>> hedge(RouteHedging hedging, URI url, HttpHeaders headers, UpstreamInstance primary) {
+        Optional<UpstreamInstance> other = registry.chooseOther(primary.getService(), primary);
+        if (other.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!budget.tryWithdraw()) {
+            hedging.noBudget.increment();
+            return Optional.empty();
+        }
+        UpstreamInstance instance = other.get();
+        log.debug("Hedging {} to {} after {}", url.getRawPath(), instance, hedging.delay.current());
+        hedging.hedged.increment();
+        registry.start(instance);
+        return Optional.of(send(LoadBalancerFilter.resolve(url, instance.getUri()), headers, instance, true)
+                .doOnNext(attempt -> registry.finish(instance, isServerError(attempt.response)))
+                .doOnError(e -> registry.finish(instance, true))
+                .doOnCancel(() -> registry.finish(instance, false)));
+    }
+
+    private Mono<Attempt> send(URI url, HttpHeaders headers, UpstreamInstance instance, boolean hedge) {
+        return httpClient
+                .headers(outbound -> headers.forEach(outbound::set))
+                .get()
+                .uri(url)
+                .responseConnection((response, connection) -> Mono.just(new Attempt(response, connection, hedge)))
+                .singleOrEmpty();
+    }
+
+    private HttpHeaders requestHeaders(ServerWebExchange exchange) {
+        HttpHeaders filtered = new HttpHeaders();
+        filtered.addAll(HttpHeadersFilter.filterRequest(getHeadersFilters(), exchange));
+        if (!exchange.getAttributeOrDefault(PRESERVE_HOST_HEADER_ATTRIBUTE, false)) {
+            filtered.remove(HttpHeaders.HOST);
+        }
+        return filtered;
+    }
+
+    private void writeResponse(ServerWebExchange exchange, Attempt attempt) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = new HttpHeaders();
+        attempt.response.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (contentType != null) {
+            exchange.getAttributes().put(ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentType);
+        }
+
+        HttpHeaders filtered = HttpHeadersFilter.filter(getHeadersFilters(), headers, exchange, HttpHeadersFilter.Type.RESPONSE);
+        if (!filtered.containsKey(HttpHeaders.TRANSFER_ENCODING) && filtered.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        }
+        exchange.getAttributes().put(CLIENT_RESPONSE_HEADER_NAMES, filtered.keySet());
+        response.setStatusCode(HttpStatusCode.valueOf(attempt.response.status().code()));
+        response.getHeaders().addAll(filtered);
+
+        // NettyWriteResponseFilter streams the body from this connection
+        exchange.getAttributes().put(CLIENT_RESPONSE_ATTR, attempt.response);
+        exchange.getAttributes().put(CLIENT_RESPONSE_CONN_ATTR, attempt.connection);
+    }
+
+    private List<HttpHeadersFilter> getHeadersFilters() {
+        if (headersFilters == null) {
+            headersFilters = headersFiltersProvider.getIfAvailable(List::of);
+        }
+        return headersFilters;
+    }
+
+    private static Duration responseTimeout(Route route) {
+        Object value = route.getMetadata().get(RESPONSE_TIMEOUT_ATTR);
+        if (value == null) {
+            return null;
+        }
+        long millis = value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+
+    private static boolean isServerError(HttpClientResponse response) {
+        return response.status().code() >= 500;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    private final class RouteHedging {
+        private final HedgeDelay delay;
+        private final Counter primaryWon;
+        private final Counter hedged;
+        private final Counter hedgeWon;
+        private final Counter noBudget;
+
+        private RouteHedging(String routeId) {
+            this.delay = new HedgeDelay(properties.getWindow(), properties.getPercentile(), properties.getMinSamples(),
+                    properties.getMinDelay(), properties.getMaxDelay());
+            this.primaryWon = requests(routeId, "primary");
+            this.hedged = requests(routeId, "hedged");
+            this.hedgeWon = requests(routeId, "hedge-won");
+            this.noBudget = requests(routeId, "no-budget");
+        }
+
+        private Counter requests(String routeId, String result) {
+            return Counter.builder("gateway.hedging.requests")
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class Attempt {
+        private final HttpClientResponse response;
+        private final Connection connection;
+        private final boolean hedge;
+
+        private Attempt(HttpClientResponse response, Connection connection, boolean hedge) {
+            this.response = response;
+            this.connection = connection;
+            this.hedge = hedge;
+        }
+    }
+
+    /**
+     * First response of up to two attempts; the loser is cancelled or, if it also answered, closed
+     */
+    private static final class Race {
+        private final MonoSink<Attempt> sink;
+        private final RouteHedging hedging;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Disposable.Composite subscriptions = Disposables.composite();
+
+        private Race(MonoSink<Attempt> sink, RouteHedging hedging) {
+            this.sink = sink;
+            this.hedging = hedging;
+            sink.onDispose(subscriptions);
+        }
+
+        private void start(Mono<Attempt> first, Duration delay, Supplier<Optional<Mono<Attempt>>> hedge) {
+            subscribe(first);
+            subscriptions.add(Mono.delay(delay).subscribe(tick -> {
+                if (!settled.get()) {
+                    hedge.get().ifPresent(this::subscribe);
+                }
+            }));
+        }
+
+        private void subscribe(Mono<Attempt> attempt) {
+            pending.incrementAndGet();
+            // Inner subscriptions need the exchange's context for the HttpClient timing hooks
+            subscriptions.add(attempt.contextWrite(sink.contextView()).subscribe(this::succeed, this::fail, this::empty));
+        }
+
+        private void succeed(Attempt attempt) {
+            if (!settled.compareAndSet(false, true)) {
+                attempt.connection.dispose();
+                return;
+            }
+            (attempt.hedge ? hedging.hedgeWon : hedging.primaryWon).increment();
+            sink.success(attempt);
+            subscriptions.dispose();
+        }
+
+        private void fail(Throwable error) {
+            // Before the hedge goes out this is the only attempt; after, wait for the other one
+            if (pending.decrementAndGet() == 0 && settled.compareAndSet(false, true)) {
+                sink.error(error);
+                subscriptions.dispose();
+            }
+        }
+
+        private void empty() {
+            if (pending.decrementAndGet() == 0 && settled.compareAndSet(false, true)) {
+                sink.success();
+                subscriptions.dispose();
+            }
+        }
+    }
+}
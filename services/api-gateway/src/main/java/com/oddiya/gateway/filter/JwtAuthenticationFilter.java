@@ -1,7 +1,9 @@
 package com.oddiya.gateway.filter;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oddiya.gateway.metrics.ExchangeTiming;
+import com.oddiya.gateway.security.JwtVerifier;
+import com.oddiya.gateway.security.RevocationList;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -12,26 +14,37 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JwtVerifier jwtVerifier;
+    private final RevocationList revocationList;
 
-    // Paths that don't require authentication
-    private static final List<String> PUBLIC_PATHS = List.of(
+    // Paths that don't require authentication (exact match)
+    private static final List<String> PUBLIC_EXACT_PATHS = List.of(
+            "/",
+            "/index.html",
+            "/favicon.ico"
+    );
+
+    // Paths that don't require authentication (prefix match)
+    private static final List<String> PUBLIC_PATH_PREFIXES = List.of(
             "/api/auth/",
             "/api/v1/auth/",
             "/oauth2/",
             "/login/oauth2/",
             "/actuator/",
-            "/.well-known/",
-            "/"
+            "/.well-known/"
     );
 
+    private static final PublicPathMatcher PUBLIC_PATHS =
+            new PublicPathMatcher(PUBLIC_EXACT_PATHS, PUBLIC_PATH_PREFIXES);
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -53,54 +66,53 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
         String token = authHeader.substring(7);
 
-        try {
-            // Parse JWT token (without signature validation for now)
-            // In production, this should validate the signature using public key from JWKS
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                throw new IllegalArgumentException("Invalid JWT token format");
-            }
-
-            // Decode payload (Base64 URL decode)
-            String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
-            log.debug("JWT payload: {}", payload);
-
-            // Parse JSON payload
-            JsonNode claims = objectMapper.readTree(payload);
-
-            Long userId = claims.has("userId") ? claims.get("userId").asLong() : null;
-
-            if (userId == null) {
-                log.warn("Missing userId in JWT token");
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            }
-
-            log.info("Authenticated request for userId: {} to path: {}", userId, path);
-
-            // Add X-User-Id header for downstream services
-            ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", String.valueOf(userId))
-                    .build();
-
-            return chain.filter(exchange.mutate().request(modifiedRequest).build());
-
-        } catch (Exception e) {
-            log.error("JWT validation failed: {}", e.getMessage());
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
-        }
+        // Verify signature against auth-service's JWKS (cached per token digest),
+        // then reject tokens revoked by logout
+        long start = System.nanoTime();
+        ExchangeTiming timing = ExchangeTiming.from(exchange);
+        return jwtVerifier.verify(token)
+                .filterWhen(verified -> revocationList.isRevoked(verified.getTokenId())
+                        .map(revoked -> {
+                            if (revoked) {
+                                log.warn("Revoked JWT used for path: {}", path);
+                            }
+                            return !revoked;
+                        }))
+                .doFinally(signal -> {
+                    if (timing != null) {
+                        timing.recordJwt(System.nanoTime() - start);
+                    }
+                })
+                .map(verified -> {
+                    if (verified.getUserId() == null) {
+                        log.warn("Missing userId in JWT token");
+                    }
+                    return Optional.ofNullable(verified.getUserId());
+                })
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.warn("JWT validation failed: {}", e.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(userId -> {
+                    if (userId.isEmpty()) {
+                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                        return exchange.getResponse().setComplete();
+                    }
+
+                    log.info("Authenticated request for userId: {} to path: {}", userId.get(), path);
+
+                    // Add X-User-Id header for downstream services
+                    ServerHttpRequest modifiedRequest = request.mutate()
+                            .header("X-User-Id", String.valueOf(userId.get()))
+                            .build();
+
+                    return chain.filter(exchange.mutate().request(modifiedRequest).build());
+                });
     }
 
-    private boolean isPublicPath(String path) {
-        // Exact match for root path
-        if (path.equals("/") || path.equals("/index.html") || path.equals("/favicon.ico")) {
-            return true;
-        }
-        // Prefix match for other public paths
-        return PUBLIC_PATHS.stream()
-                .filter(p -> !p.equals("/"))  // Exclude "/" from prefix matching
-                .anyMatch(path::startsWith);
+    static boolean isPublicPath(String path) {
+        return PUBLIC_PATHS.matches(path);
     }
 
     @Override
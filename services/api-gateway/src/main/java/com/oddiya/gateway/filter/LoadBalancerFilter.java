@@ -0,0 +1,90 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.loadbalancer.UpstreamInstance;
+import com.oddiya.gateway.loadbalancer.UpstreamRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.Optional;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Resolves lb://{service} route URIs to one of the service's instances
+ *
+ * Runs where Spring Cloud's load balancer filter would, after the route URL is built and
+ * before Netty routing. The instance is charged an in-flight request until the exchange ends;
+ * a connect error, timeout or 5xx counts as a failure towards passive ejection.
+ */
+@Slf4j
+@Component
+public class LoadBalancerFilter implements GlobalFilter, Ordered {
+
+    public static final String SCHEME = "lb";
+
+    // The UpstreamInstance chosen for this exchange
+    public static final String INSTANCE_ATTR = LoadBalancerFilter.class.getName() + ".instance";
+
+    private final UpstreamRegistry registry;
+
+    public LoadBalancerFilter(UpstreamRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !SCHEME.equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        String service = url.getHost();
+        Optional<UpstreamInstance> chosen = registry.choose(service);
+        if (chosen.isEmpty()) {
+            return Mono.error(NotFoundException.create(false, "No instances configured for " + service));
+        }
+
+        UpstreamInstance instance = chosen.get();
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, resolve(url, instance.getUri()));
+        exchange.getAttributes().put(INSTANCE_ATTR, instance);
+        registry.start(instance);
+        return chain.filter(exchange)
+                .doOnError(e -> registry.finish(instance, true))
+                .doOnSuccess(done -> registry.finish(instance, isServerError(exchange.getResponse().getStatusCode())))
+                .doFinally(signal -> {
+                    // A client that goes away says nothing about the instance's health
+                    if (signal == SignalType.CANCEL) {
+                        registry.finish(instance, false);
+                    }
+                });
+    }
+
+    public static URI resolve(URI url, URI instance) {
+        return UriComponentsBuilder.fromUri(url)
+                .scheme(instance.getScheme())
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    private static boolean isServerError(HttpStatusCode status) {
+        return status != null && status.is5xxServerError();
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER;
+    }
+}
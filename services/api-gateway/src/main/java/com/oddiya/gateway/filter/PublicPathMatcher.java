@@ -0,0 +1,60 @@
+package com.oddiya.gateway.filter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Precompiled matcher for unauthenticated paths
+ * Exact paths are a set lookup; prefixes are compiled into an ASCII trie so a
+ * request path is matched in a single pass without streams or per-call allocation.
+ */
+final class PublicPathMatcher {
+
+    private final Set<String> exactPaths;
+    private final Node root = new Node();
+
+    PublicPathMatcher(Collection<String> exactPaths, Collection<String> prefixes) {
+        this.exactPaths = Set.copyOf(exactPaths);
+        for (String prefix : prefixes) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                char c = prefix.charAt(i);
+                if (c >= Node.FANOUT) {
+                    throw new IllegalArgumentException("Public path prefixes must be ASCII: " + prefix);
+                }
+                if (node.children[c] == null) {
+                    node.children[c] = new Node();
+                }
+                node = node.children[c];
+            }
+            node.terminal = true;
+        }
+    }
+
+    boolean matches(String path) {
+        if (exactPaths.contains(path)) {
+            return true;
+        }
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c >= Node.FANOUT) {
+                return false;
+            }
+            node = node.children[c];
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private static final int FANOUT = 128;
+        private final Node[] children = new Node[FANOUT];
+        private boolean terminal;
+    }
+}
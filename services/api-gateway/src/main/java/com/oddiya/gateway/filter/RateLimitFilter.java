@@ -0,0 +1,140 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.config.RateLimitProperties;
+import com.oddiya.gateway.ratelimit.RateLimitResult;
+import com.oddiya.gateway.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user, cost-weighted rate limiting
+ *
+ * Every authenticated request draws tokens from the user's bucket: the cost of the first
+ * matching rule (e.g. plan creation, which runs a full LLM generation) or default-cost.
+ * An empty bucket gets 429 with Retry-After in seconds.
+ * Metrics:
+ * - gateway.rate-limit.requests {result=allowed|limited}
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final List<CompiledRule> rules;
+    private final Counter allowed;
+    private final Counter limited;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.rules = compile(properties.getRules());
+        this.allowed = requests(meterRegistry, "allowed");
+        this.limited = requests(meterRegistry, "limited");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        if (!properties.isEnabled() || userId == null) {
+            return chain.filter(exchange);
+        }
+
+        int cost = costOf(request.getMethod(), request.getPath().pathWithinApplication());
+        return rateLimiter.consume(userId, cost)
+                .flatMap(result -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    if (result.getRemaining() >= 0) {
+                        response.getHeaders().set(REMAINING_HEADER, String.valueOf(result.getRemaining()));
+                    }
+                    if (result.isAllowed()) {
+                        allowed.increment();
+                        return chain.filter(exchange);
+                    }
+
+                    limited.increment();
+                    exchange.getAttributes().put(AdaptiveConcurrencyFilter.NOT_FORWARDED_ATTR, Boolean.TRUE);
+                    log.warn("Rate limit exceeded for userId: {} (cost {}) on path: {}", userId, cost, request.getPath());
+                    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(result)));
+                    return response.setComplete();
+                });
+    }
+
+    int costOf(HttpMethod method, PathContainer path) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule.cost;
+            }
+        }
+        return properties.getDefaultCost();
+    }
+
+    private static long retryAfterSeconds(RateLimitResult result) {
+        // Round up so a client honouring the header never retries into an empty bucket
+        return Math.max(1, (result.getRetryAfter().toMillis() + 999) / 1000);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.rate-limit.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static List<CompiledRule> compile(List<RateLimitProperties.Rule> rules) {
+        PathPatternParser parser = new PathPatternParser();
+        return rules.stream()
+                .map(rule -> new CompiledRule(
+                        rule.getMethods().stream().map(HttpMethod::valueOf).collect(Collectors.toUnmodifiableSet()),
+                        rule.getPaths().stream().map(parser::parse).toList(),
+                        rule.getCost()))
+                .toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return -95;  // After JwtAuthenticationFilter, before the response cache
+    }
+
+    @Value
+    private static class CompiledRule {
+        Set<HttpMethod> methods;  // empty = any method
+        List<PathPattern> patterns;
+        int cost;
+
+        boolean matches(HttpMethod method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.config.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent identical GETs onto one upstream exchange
+ *
+ * Requests with the same route, path, query, X-User-Id, Accept-Encoding and conditional
+ * headers (If-None-Match, If-Modified-Since) share a key. The first becomes the leader and is
+ * forwarded; its body is buffered as it streams back and then handed to every request that
+ * arrived while it was in flight. Only a 200 is shared: on any other status, or a response
+ * that sets cookies or exceeds max-body-size, waiters go upstream on their own, as they do
+ * when the leader fails or the in-flight table is full.
+ * Metrics:
+ * - gateway.coalescing.requests {role=leader|follower|bypass}
+ * - gateway.coalescing.ratio: followers / (leaders + followers)
+ * - gateway.coalescing.in-flight: keys currently in flight
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    // Hop-by-hop or recomputed per response
+    private static final Set<String> UNSHARED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        UNSHARED_HEADERS.addAll(List.of(HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH));
+    }
+
+    private final CoalescingProperties properties;
+    private final Map<String, Sinks.One<Optional<SharedResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter bypassed;
+
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.leaders = requests(meterRegistry, "leader");
+        this.followers = requests(meterRegistry, "follower");
+        this.bypassed = requests(meterRegistry, "bypass");
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescingFilter::coalescingRatio)
+                .description("Share of coalescable GETs served from another request's upstream exchange")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size)
+                .description("Distinct GETs currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET || route == null || userId == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(route, userId, request);
+        return Mono.defer(() -> coalesce(key, exchange, chain));
+    }
+
+    private Mono<Void> coalesce(String key, ServerWebExchange exchange, GatewayFilterChain chain) {
+        Sinks.One<Optional<SharedResponse>> existing = inFlight.get(key);
+        if (existing != null) {
+            return follow(existing, exchange, chain);
+        }
+        if (inFlight.size() >= properties.getMaxInFlight()) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+
+        Sinks.One<Optional<SharedResponse>> sink = Sinks.one();
+        existing = inFlight.putIfAbsent(key, sink);
+        if (existing != null) {
+            return follow(existing, exchange, chain);
+        }
+        return lead(key, sink, exchange, chain);
+    }
+
+    private Mono<Void> lead(String key, Sinks.One<Optional<SharedResponse>> sink,
+                            ServerWebExchange exchange, GatewayFilterChain chain) {
+        leaders.increment();
+        ServerHttpResponse response = exchange.getResponse();
+        ServerHttpResponse capturing = new BodyCapturingResponse(response, properties.getMaxBodySize(),
+                r -> HttpStatus.OK.equals(r.getStatusCode()) && !r.getHeaders().containsKey(HttpHeaders.SET_COOKIE),
+                body -> {
+                    sink.tryEmitValue(Optional.of(SharedResponse.of(response, body)));
+                    return Mono.empty();
+                });
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    // No-op if the body was shared; otherwise release waiters to go upstream
+                    sink.tryEmitValue(Optional.empty());
+                });
+    }
+
+    private Mono<Void> follow(Sinks.One<Optional<SharedResponse>> sink, ServerWebExchange exchange, GatewayFilterChain chain) {
+        return sink.asMono()
+                .timeout(properties.getWaitTimeout())
+                .onErrorResume(e -> Mono.just(Optional.empty()))
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        bypassed.increment();
+                        return chain.filter(exchange);
+                    }
+                    followers.increment();
+                    exchange.getAttributes().put(AdaptiveConcurrencyFilter.NOT_FORWARDED_ATTR, Boolean.TRUE);
+                    return write(exchange.getResponse(), shared.get());
+                });
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.getStatus());
+        response.getHeaders().putAll(shared.getHeaders());
+        response.getHeaders().setContentLength(shared.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.getBody())));
+    }
+
+    static String key(Route route, String userId, ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        // A conditional leader may get a bodiless 304, so it only leads requests with the same conditions
+        return route.getId() + ' ' + userId + ' ' + ResponseCacheFilter.cacheField(request)
+                + keyPart(headers.getFirst(HttpHeaders.ACCEPT_ENCODING))
+                + keyPart(headers.getFirst(HttpHeaders.IF_NONE_MATCH))
+                + keyPart(headers.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    private static String keyPart(String value) {
+        return value != null ? "\n" + value : "\n";
+    }
+
+    private double coalescingRatio() {
+        double led = leaders.count();
+        double followed = followers.count();
+        return led + followed == 0 ? 0 : followed / (led + followed);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return -80;  // After ResponseCacheFilter, so cache hits never wait on a leader
+    }
+
+    /**
+     * Leader's status, headers and buffered body, replayed to each waiter
+     */
+    @Value
+    static class SharedResponse {
+        HttpStatusCode status;
+        HttpHeaders headers;
+        byte[] body;
+
+        static SharedResponse of(ServerHttpResponse response, byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            response.getHeaders().forEach((name, values) -> {
+                if (!UNSHARED_HEADERS.contains(name)) {
+                    headers.addAll(name, values);
+                }
+            });
+            return new SharedResponse(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.cache.CachedResponse;
+import com.oddiya.gateway.cache.ResponseCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Serves per-user GETs from {@link ResponseCache} and evicts on writes
+ *
+ * Runs after JwtAuthenticationFilter so X-User-Id is the verified user. GET misses are
+ * forwarded and the 200 body is copied into the cache as it streams back to the client.
+ * POST/PUT/PATCH/DELETE evict the affected groups before forwarding and again once the
+ * upstream response completes, so a GET racing the write cannot leave a stale entry behind
+ * for longer than the group TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Set<HttpMethod> WRITE_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final ResponseCache responseCache;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!responseCache.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        if (userId == null) {
+            return chain.filter(exchange);
+        }
+
+        ResponseCache.CompiledGroup group = responseCache.groupFor(request.getPath().pathWithinApplication());
+        if (group == null) {
+            return chain.filter(exchange);
+        }
+
+        HttpMethod method = request.getMethod();
+        if (WRITE_METHODS.contains(method)) {
+            return responseCache.evict(userId, group)
+                    .then(chain.filter(exchange))
+                    .then(Mono.defer(() -> responseCache.evict(userId, group)));
+        }
+        if (method != HttpMethod.GET || isNoCacheRequest(request)) {
+            return chain.filter(exchange);
+        }
+
+        String field = cacheField(request);
+        return responseCache.get(userId, group, field)
+                .flatMap(cached -> {
+                    if (cached.isPresent()) {
+                        exchange.getAttributes().put(AdaptiveConcurrencyFilter.NOT_FORWARDED_ATTR, Boolean.TRUE);
+                        return writeCached(exchange.getResponse(), cached.get());
+                    }
+                    exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                    ServerHttpResponse recording = new BodyCapturingResponse(exchange.getResponse(),
+                            responseCache.getMaxBodySize(), ResponseCacheFilter::isCacheable,
+                            body -> responseCache.put(userId, group, field, new CachedResponse(
+                                    System.currentTimeMillis(), contentType(exchange.getResponse()), body)));
+                    return chain.filter(exchange.mutate().response(recording).build());
+                });
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(HttpStatus.OK);
+        HttpHeaders headers = response.getHeaders();
+        if (cached.getContentType() != null) {
+            headers.setContentType(MediaType.parseMediaType(cached.getContentType()));
+        }
+        headers.setContentLength(cached.getBody().length);
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private static boolean isNoCacheRequest(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
+
+    private static boolean isCacheable(ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        return HttpStatus.OK.equals(response.getStatusCode())
+                && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                && (cacheControl == null || !cacheControl.contains("no-store"));
+    }
+
+    private static String contentType(ServerHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType != null ? contentType.toString() : null;
+    }
+
+    static String cacheField(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        String query = request.getURI().getRawQuery();
+        return query == null ? path : path + "?" + query;
+    }
+
+    @Override
+    public int getOrder() {
+        return -90;  // After JwtAuthenticationFilter, before routing
+    }
+}
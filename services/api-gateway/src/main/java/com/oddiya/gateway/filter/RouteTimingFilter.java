@@ -0,0 +1,78 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.metrics.ExchangeTiming;
+import com.oddiya.gateway.metrics.RouteLatencyMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times each routed exchange and records the per-phase breakdown in {@link RouteLatencyMetrics}
+ * Runs first, so the total includes every other gateway filter.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteTimingFilter implements GlobalFilter, Ordered {
+
+    private final RouteLatencyMetrics metrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        ExchangeTiming timing = new ExchangeTiming(System.nanoTime());
+        exchange.getAttributes().put(ExchangeTiming.ATTRIBUTE, timing);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ExchangeTiming.class, timing))
+                .doFinally(signal -> metrics.record(route.getId(), status(exchange, signal), timing, System.nanoTime()));
+    }
+
+    private static String status(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return "CANCELLED";
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null) {
+            return signal == SignalType.ON_ERROR ? "5xx" : "UNKNOWN";
+        }
+        return status.value() / 100 + "xx";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Marks the hand-off to NettyRoutingFilter, where the upstream connect phase begins
+     */
+    @Component
+    public static class RoutingStartFilter implements GlobalFilter, Ordered {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            ExchangeTiming timing = ExchangeTiming.from(exchange);
+            if (timing != null) {
+                timing.markRoutingStart();
+            }
+            return chain.filter(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return NettyRoutingFilter.ORDER - 2;  // before HedgingFilter, which can route instead
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.oddiya.gateway.filter.factory;
+
+import com.oddiya.gateway.filter.AdaptiveConcurrencyFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps concurrent in-flight requests to a downstream
+ *
+ * Routes sharing a {@code name} share one limit, so a stalled service can hold at most
+ * {@code maxConcurrent} of the gateway's upstream connections; they must all declare the same
+ * {@code maxConcurrent}, or the route is rejected when it is built. Requests over the limit
+ * get 503 immediately instead of queueing for the shared Netty pool.
+ * Usage in a route: {@code - Bulkhead=plan-service, 50}
+ * Metrics:
+ * - gateway.bulkhead.active {name}: requests currently holding a permit
+ * - gateway.bulkhead.rejected {name}
+ */
+@Slf4j
+@Component
+public class BulkheadGatewayFilterFactory extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, Integer> routeLimits = new ConcurrentHashMap<>();
+
+    public BulkheadGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "maxConcurrent");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(config.getName(), name -> new Bulkhead(name, config.getMaxConcurrent()));
+        if (bulkhead.limit != config.getMaxConcurrent()) {
+            throw new IllegalArgumentException("Bulkhead " + config.getName() + " is declared with both "
+                    + bulkhead.limit + " and " + config.getMaxConcurrent() + " max concurrent requests");
+        }
+        if (config.getRouteId() != null) {
+            routeLimits.put(config.getRouteId(), bulkhead.limit);
+        }
+        return (exchange, chain) -> {
+            if (!bulkhead.permits.tryAcquire()) {
+                bulkhead.rejected.increment();
+                exchange.getAttributes().put(AdaptiveConcurrencyFilter.NOT_FORWARDED_ATTR, Boolean.TRUE);
+                log.warn("Bulkhead {} full ({} in flight), rejecting {}", bulkhead.name, bulkhead.limit,
+                        exchange.getRequest().getPath());
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return response.setComplete();
+            }
+            return chain.filter(exchange).doFinally(signal -> bulkhead.permits.release());
+        };
+    }
+
+    /**
+     * The limit of the bulkhead on a route, if it has one
+     */
+    public OptionalInt maxConcurrent(String routeId) {
+        Integer limit = routeLimits.get(routeId);
+        return limit != null ? OptionalInt.of(limit) : OptionalInt.empty();
+    }
+
+    private final class Bulkhead {
+        private final String name;
+        private final int limit;
+        private final Semaphore permits;
+        private final Counter rejected;
+
+        private Bulkhead(String name, int limit) {
+            this.name = name;
+            this.limit = limit;
+            this.permits = new Semaphore(limit);
+            this.rejected = Counter.builder("gateway.bulkhead.rejected").tag("name", name).register(meterRegistry);
+            Gauge.builder("gateway.bulkhead.active", permits, p -> limit - p.availablePermits())
+                    .tag("name", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;  // set by the route locator
+        private String name;
+        private int maxConcurrent = 100;
+    }
+}
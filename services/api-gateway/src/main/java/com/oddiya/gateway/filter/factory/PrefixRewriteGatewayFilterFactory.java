@@ -0,0 +1,107 @@
+package com.oddiya.gateway.filter.factory;
+
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * Rewrites a path prefix without regex
+ *
+ * Replaces {@code RewritePath} for the common "strip /api or /api/v1, forward to /api/v1/..."
+ * case. The source prefixes are compiled at startup into a table sorted longest-first, so a
+ * request costs a few {@code startsWith} checks instead of a regex match and replace.
+ * A prefix only matches on a segment boundary: {@code /api/plans} rewrites {@code /api/plans}
+ * and {@code /api/plans/7}, never {@code /api/plansx}. Paths that match no prefix pass through.
+ * Usage in a route (last value is the target prefix):
+ * {@code - PrefixRewrite=/api/plans, /api/v1/plans, /api/v1/plans}
+ */
+@Component
+public class PrefixRewriteGatewayFilterFactory extends AbstractGatewayFilterFactory<PrefixRewriteGatewayFilterFactory.Config> {
+
+    public PrefixRewriteGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("prefixes");
+    }
+
+    @Override
+    public ShortcutType shortcutType() {
+        return ShortcutType.GATHER_LIST;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<String> prefixes = config.getPrefixes();
+        if (prefixes.size() < 2) {
+            throw new IllegalArgumentException("PrefixRewrite needs at least one source prefix and a target: " + prefixes);
+        }
+        RewriteTable table = RewriteTable.compile(prefixes.subList(0, prefixes.size() - 1), prefixes.get(prefixes.size() - 1));
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String rewritten = table.rewrite(request.getURI().getRawPath());
+            if (rewritten == null) {
+                return chain.filter(exchange);
+            }
+
+            addOriginalRequestUrl(exchange, request.getURI());
+            ServerHttpRequest mutated = request.mutate().path(rewritten).build();
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, mutated.getURI());
+            return chain.filter(exchange.mutate().request(mutated).build());
+        };
+    }
+
+    static final class RewriteTable {
+        private final String[] prefixes;  // longest first, so the most specific prefix wins
+        private final String target;
+
+        private RewriteTable(String[] prefixes, String target) {
+            this.prefixes = prefixes;
+            this.target = target;
+        }
+
+        static RewriteTable compile(List<String> from, String to) {
+            String[] prefixes = from.stream()
+                    .map(RewriteTable::trimTrailingSlash)
+                    .distinct()
+                    .sorted(Comparator.comparingInt(String::length).reversed())
+                    .toArray(String[]::new);
+            return new RewriteTable(prefixes, trimTrailingSlash(to));
+        }
+
+        /**
+         * @return the rewritten path, or null if no prefix matches
+         */
+        String rewrite(String path) {
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix)
+                        && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                    return target + path.substring(prefix.length());
+                }
+            }
+            return null;
+        }
+
+        private static String trimTrailingSlash(String prefix) {
+            String trimmed = prefix.trim();
+            return trimmed.length() > 1 && trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+        }
+    }
+
+    @Data
+    public static class Config {
+        // Source prefixes followed by the target prefix
+        private List<String> prefixes = new ArrayList<>();
+    }
+}
@@ -0,0 +1,61 @@
+package com.oddiya.gateway.filter.factory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oddiya.gateway.aggregation.ProfileTripsAggregator;
+import com.oddiya.gateway.aggregation.ProfileTripsResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers the route with {@link ProfileTripsAggregator} instead of proxying it
+ *
+ * Runs as a route filter so the route still passes through JWT verification, rate limiting
+ * and the latency metrics. Returns 503 only if every leg failed.
+ * Usage in a route: {@code uri: no://op} with {@code - ProfileTrips}
+ */
+@Component
+public class ProfileTripsGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    private final ProfileTripsAggregator aggregator;
+    private final ObjectMapper objectMapper;
+
+    public ProfileTripsGatewayFilterFactory(ProfileTripsAggregator aggregator, ObjectMapper objectMapper) {
+        this.aggregator = aggregator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            ServerHttpResponse response = exchange.getResponse();
+            String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
+            if (userId == null) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return response.setComplete();
+            }
+
+            return aggregator.aggregate(userId).flatMap(result -> {
+                byte[] body;
+                try {
+                    body = objectMapper.writeValueAsBytes(result);
+                } catch (JsonProcessingException e) {
+                    return Mono.error(e);
+                }
+                response.setStatusCode(allLegsFailed(result) ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                response.getHeaders().setContentLength(body.length);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+            });
+        };
+    }
+
+    private static boolean allLegsFailed(ProfileTripsResponse result) {
+        return result.getDegraded().size() == 3;
+    }
+}
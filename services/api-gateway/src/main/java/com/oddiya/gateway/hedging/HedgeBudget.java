@@ -0,0 +1,39 @@
+package com.oddiya.gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedges to a fraction of requests
+ *
+ * Every eligible request deposits {@code ratio} of a token, up to {@code burst} tokens, and each
+ * hedge spends a whole token. Over any long stretch hedges stay at or below ratio x requests,
+ * so a slow backend can't be hit with double its load.
+ */
+public class HedgeBudget {
+
+    private static final long TOKEN = 1_000;  // balance is kept in thousandths of a token
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double ratio, int burst) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = Math.max(1, burst) * TOKEN;
+    }
+
+    public void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
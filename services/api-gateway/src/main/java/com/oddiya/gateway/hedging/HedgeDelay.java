@@ -0,0 +1,59 @@
+package com.oddiya.gateway.hedging;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Percentile of a route's recent response times, used as its hedge delay
+ *
+ * Keeps the last {@code window} samples in a ring and re-sorts a copy every
+ * {@code window / 16} samples, so the read on the request path is a volatile load.
+ */
+public class HedgeDelay {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final long minNanos;
+    private final long maxNanos;
+    private final int recomputeEvery;
+
+    // Guarded by this
+    private int next;
+    private int count;
+    private int sinceRecompute;
+
+    private volatile long delayNanos;
+
+    public HedgeDelay(int window, double percentile, int minSamples, Duration min, Duration max) {
+        this.samples = new long[Math.max(1, window)];
+        this.percentile = percentile;
+        this.minSamples = Math.min(Math.max(1, minSamples), samples.length);
+        this.minNanos = min.toNanos();
+        this.maxNanos = max.toNanos();
+        this.recomputeEvery = Math.max(1, samples.length / 16);
+        this.delayNanos = maxNanos;
+    }
+
+    public Duration current() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    public void record(long nanos) {
+        long[] snapshot;
+        synchronized (this) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (count < minSamples || ++sinceRecompute < recomputeEvery) {
+                return;
+            }
+            sinceRecompute = 0;
+            snapshot = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(percentile * snapshot.length) - 1;
+        long value = snapshot[Math.max(0, Math.min(snapshot.length - 1, index))];
+        delayNanos = Math.max(minNanos, Math.min(maxNanos, value));
+    }
+}
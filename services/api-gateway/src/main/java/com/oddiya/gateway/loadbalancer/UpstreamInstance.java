@@ -0,0 +1,91 @@
+package com.oddiya.gateway.loadbalancer;
+
+import com.oddiya.gateway.config.UpstreamProperties;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One backend instance: requests in flight, recent outcomes and ejection state
+ */
+public class UpstreamInstance {
+
+    private final String service;
+    private final URI uri;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Ring of recent outcomes (true = failure), guarded by this
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private volatile long ejectedUntilNanos;
+
+    UpstreamInstance(String service, URI uri, int window) {
+        this.service = service;
+        this.uri = uri;
+        this.outcomes = new boolean[Math.max(1, window)];
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean isEjected(long nowNanos) {
+        long until = ejectedUntilNanos;
+        return until != 0 && nowNanos - until < 0;
+    }
+
+    void start() {
+        inFlight.incrementAndGet();
+    }
+
+    void finish() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records an outcome and ejects the instance if its failure rate crossed the threshold
+     *
+     * @return true if this outcome ejected the instance
+     */
+    synchronized boolean record(boolean failure, long nowNanos, UpstreamProperties.Ejection ejection) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+
+        if (!failure || recorded < ejection.getMinRequests()
+                || (double) failures / recorded < ejection.getFailureRateThreshold()) {
+            return false;
+        }
+        // Start clean when the instance comes back, so one old failure can't re-eject it
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        ejectedUntilNanos = nowNanos + ejection.getDuration().toNanos();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return service + "@" + uri;
+    }
+}
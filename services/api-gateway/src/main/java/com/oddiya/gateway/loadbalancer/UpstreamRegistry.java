@@ -0,0 +1,298 @@
+package com.oddiya.gateway.loadbalancer;
+
+import com.oddiya.gateway.config.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.Yaml;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Instances of each lb://{service} backend and the choice between them
+ *
+ * Picks by power-of-two-choices (default) or least-outstanding-requests over the instances
+ * not currently ejected. If every instance is ejected all of them are used again, since
+ * refusing all traffic is worse than trying a possibly-recovered instance.
+ * The instances file is checked at most every reload-interval, off the request thread;
+ * instances that survive a reload keep their in-flight count and outcome history.
+ * Metrics:
+ * - gateway.upstream.in-flight {service,instance}
+ * - gateway.upstream.requests {service,instance,outcome=success|failure}
+ * - gateway.upstream.ejections {service,instance}
+ */
+@Slf4j
+@Component
+public class UpstreamRegistry {
+
+    private final UpstreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final Map<UpstreamInstance, InstanceMeters> meters = new ConcurrentHashMap<>();
+
+    private volatile Map<String, UpstreamInstance[]> instances = Map.of();
+    private volatile long lastCheckNanos;
+    private volatile long fileModifiedMillis;
+
+    @Autowired
+    public UpstreamRegistry(UpstreamProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    UpstreamRegistry(UpstreamProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.lastCheckNanos = nanoClock.getAsLong();
+        update(loadConfigured());
+    }
+
+    public Optional<UpstreamInstance> choose(String service) {
+        long now = nanoClock.getAsLong();
+        reloadIfDue(now);
+        return choose(instances.get(service), null, now);
+    }
+
+    /**
+     * An instance other than {@code exclude}, e.g. for a hedged copy of a request
+     */
+    public Optional<UpstreamInstance> chooseOther(String service, UpstreamInstance exclude) {
+        return choose(instances.get(service), exclude, nanoClock.getAsLong());
+    }
+
+    private Optional<UpstreamInstance> choose(UpstreamInstance[] all, UpstreamInstance exclude, long now) {
+        if (all == null || all.length == 0) {
+            return Optional.empty();
+        }
+        UpstreamInstance[] candidates = available(all, exclude, now);
+        if (candidates.length == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(properties.getStrategy() == UpstreamProperties.Strategy.LEAST_OUTSTANDING
+                ? leastOutstanding(candidates)
+                : powerOfTwo(candidates));
+    }
+
+    /**
+     * Marks a request as sent to the instance; pair with {@link #finish}
+     */
+    public void start(UpstreamInstance instance) {
+        instance.start();
+    }
+
+    public void finish(UpstreamInstance instance, boolean failure) {
+        instance.finish();
+        InstanceMeters instanceMeters = meters.get(instance);  // null once removed by a reload
+        if (instanceMeters != null) {
+            (failure ? instanceMeters.failures : instanceMeters.successes).increment();
+        }
+        if (instance.record(failure, nanoClock.getAsLong(), properties.getEjection())) {
+            if (instanceMeters != null) {
+                instanceMeters.ejections.increment();
+            }
+            log.warn("Ejecting {} for {} after failure rate reached {}", instance,
+                    properties.getEjection().getDuration(), properties.getEjection().getFailureRateThreshold());
+        }
+    }
+
+    public Map<String, List<UpstreamInstance>> snapshot() {
+        Map<String, List<UpstreamInstance>> view = new LinkedHashMap<>();
+        instances.forEach((service, list) -> view.put(service, List.of(list)));
+        return view;
+    }
+
+    private static UpstreamInstance[] available(UpstreamInstance[] all, UpstreamInstance exclude, long now) {
+        int healthy = 0;
+        for (UpstreamInstance instance : all) {
+            if (instance != exclude && !instance.isEjected(now)) {
+                healthy++;
+            }
+        }
+        if (healthy == all.length) {
+            return all;
+        }
+        if (healthy == 0) {
+            // Every remaining instance is ejected: use them anyway rather than fail outright
+            return exclude == null ? all : Arrays.stream(all).filter(i -> i != exclude).toArray(UpstreamInstance[]::new);
+        }
+        UpstreamInstance[] candidates = new UpstreamInstance[healthy];
+        int i = 0;
+        for (UpstreamInstance instance : all) {
+            if (instance != exclude && !instance.isEjected(now)) {
+                candidates[i++] = instance;
+            }
+        }
+        return candidates;
+    }
+
+    private static UpstreamInstance powerOfTwo(UpstreamInstance[] candidates) {
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.length);
+        int second = random.nextInt(candidates.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        UpstreamInstance a = candidates[first];
+        UpstreamInstance b = candidates[second];
+        return b.getInFlight() < a.getInFlight() ? b : a;
+    }
+
+    private static UpstreamInstance leastOutstanding(UpstreamInstance[] candidates) {
+        // Start at a random offset so ties don't all land on the first instance
+        int offset = ThreadLocalRandom.current().nextInt(candidates.length);
+        UpstreamInstance best = candidates[offset];
+        for (int i = 1; i < candidates.length; i++) {
+            UpstreamInstance candidate = candidates[(offset + i) % candidates.length];
+            if (candidate.getInFlight() < best.getInFlight()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private void reloadIfDue(long now) {
+        if (properties.getInstancesFile() == null || properties.getInstancesFile().isBlank()
+                || now - lastCheckNanos < properties.getReloadInterval().toNanos()
+                || !reloading.compareAndSet(false, true)) {
+            return;
+        }
+        lastCheckNanos = now;
+        Mono.fromRunnable(this::reloadIfModified)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> reloading.set(false))
+                .subscribe(null, e -> log.warn("Failed to reload upstream instances: {}", e.getMessage()));
+    }
+
+    private void reloadIfModified() {
+        try {
+            long modified = Files.getLastModifiedTime(Path.of(properties.getInstancesFile())).toMillis();
+            if (modified != fileModifiedMillis) {
+                update(loadConfigured());
+            }
+        } catch (IOException e) {
+            log.warn("Cannot read upstream instances file {}: {}", properties.getInstancesFile(), e.getMessage());
+        }
+    }
+
+    Map<String, List<String>> loadConfigured() {
+        Map<String, List<String>> configured = new LinkedHashMap<>(properties.getServices());
+        String file = properties.getInstancesFile();
+        if (file == null || file.isBlank()) {
+            return configured;
+        }
+
+        Path path = Path.of(file);
+        try {
+            fileModifiedMillis = Files.getLastModifiedTime(path).toMillis();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                Map<String, Object> fromFile = new Yaml().load(reader);
+                if (fromFile != null) {
+                    fromFile.forEach((service, value) -> configured.put(service, toUris(value)));
+                }
+            }
+            log.info("Loaded upstream instances from {}", path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring upstream instances file {}: {}", path, e.getMessage());
+        }
+        return configured;
+    }
+
+    private static List<String> toUris(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).map(String::trim).toList();
+        }
+        return Arrays.stream(String.valueOf(value).split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    synchronized void update(Map<String, List<String>> configured) {
+        Map<String, UpstreamInstance[]> current = instances;
+        Map<String, UpstreamInstance[]> updated = new HashMap<>();
+        configured.forEach((service, uris) -> {
+            List<UpstreamInstance> list = new ArrayList<>();
+            for (String value : uris) {
+                URI uri = URI.create(value.trim());
+                list.add(existing(current.get(service), uri)
+                        .orElseGet(() -> register(new UpstreamInstance(service, uri, properties.getEjection().getWindow()))));
+            }
+            updated.put(service, list.toArray(UpstreamInstance[]::new));
+            log.info("Upstream {}: {}", service, uris);
+        });
+        current.values().stream()
+                .flatMap(Arrays::stream)
+                .filter(instance -> existing(updated.get(instance.getService()), instance.getUri()).isEmpty())
+                .forEach(this::unregister);
+        instances = Map.copyOf(updated);
+    }
+
+    private static Optional<UpstreamInstance> existing(UpstreamInstance[] list, URI uri) {
+        if (list == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(list).filter(instance -> instance.getUri().equals(uri)).findFirst();
+    }
+
+    private UpstreamInstance register(UpstreamInstance instance) {
+        meters.put(instance, new InstanceMeters(instance));
+        return instance;
+    }
+
+    private void unregister(UpstreamInstance instance) {
+        InstanceMeters removed = meters.remove(instance);
+        if (removed != null) {
+            removed.all().forEach(meterRegistry::remove);
+        }
+        log.info("Removed upstream instance {}", instance);
+    }
+
+    private static Tags tags(UpstreamInstance instance) {
+        return Tags.of("service", instance.getService(), "instance", instance.getUri().getAuthority());
+    }
+
+    private final class InstanceMeters {
+        private final Gauge inFlight;
+        private final Counter successes;
+        private final Counter failures;
+        private final Counter ejections;
+
+        private InstanceMeters(UpstreamInstance instance) {
+            Tags tags = tags(instance);
+            this.inFlight = Gauge.builder("gateway.upstream.in-flight", instance, UpstreamInstance::getInFlight)
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.successes = Counter.builder("gateway.upstream.requests").tags(tags).tag("outcome", "success").register(meterRegistry);
+            this.failures = Counter.builder("gateway.upstream.requests").tags(tags).tag("outcome", "failure").register(meterRegistry);
+            this.ejections = Counter.builder("gateway.upstream.ejections").tags(tags).register(meterRegistry);
+        }
+
+        private List<Meter> all() {
+            return List.of(inFlight, successes, failures, ejections);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.oddiya.gateway.metrics;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.ContextView;
+
+/**
+ * Phase timestamps for one proxied exchange (System.nanoTime, 0 = phase not reached)
+ *
+ * Stored as an exchange attribute for gateway filters and in the Reactor context for the
+ * upstream HttpClient callbacks, which don't see the exchange.
+ */
+public final class ExchangeTiming {
+
+    public static final String ATTRIBUTE = ExchangeTiming.class.getName();
+
+    private final long startNanos;
+    private volatile long jwtNanos;
+    private volatile long routingStartNanos;
+    private volatile long requestSentNanos;
+    private volatile long firstByteNanos;
+
+    public ExchangeTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public static ExchangeTiming from(ServerWebExchange exchange) {
+        return exchange.getAttribute(ATTRIBUTE);
+    }
+
+    public static ExchangeTiming from(ContextView context) {
+        return context.getOrDefault(ExchangeTiming.class, null);
+    }
+
+    public void recordJwt(long nanos) {
+        jwtNanos = nanos;
+    }
+
+    public void markRoutingStart() {
+        routingStartNanos = System.nanoTime();
+    }
+
+    /**
+     * First call wins: a hedged exchange is timed from its first attempt to its first response
+     */
+    public void markRequestSent() {
+        if (requestSentNanos == 0) {
+            requestSentNanos = System.nanoTime();
+        }
+    }
+
+    public void markFirstByte() {
+        if (firstByteNanos == 0) {
+            firstByteNanos = System.nanoTime();
+        }
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Time spent in JwtAuthenticationFilter, or -1 if it didn't verify a token
+     */
+    public long jwtNanos() {
+        return jwtNanos > 0 ? jwtNanos : -1;
+    }
+
+    /**
+     * Routing start until the request went out: pool acquisition, connect and TLS, or -1
+     */
+    public long connectNanos() {
+        return routingStartNanos > 0 && requestSentNanos > 0 ? requestSentNanos - routingStartNanos : -1;
+    }
+
+    /**
+     * Request sent until upstream response headers arrived, or -1
+     */
+    public long firstByteNanos() {
+        return requestSentNanos > 0 && firstByteNanos > 0 ? firstByteNanos - requestSentNanos : -1;
+    }
+}
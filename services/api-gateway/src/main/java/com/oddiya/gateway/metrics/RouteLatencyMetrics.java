@@ -0,0 +1,58 @@
+package com.oddiya.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route latency histograms, split by phase
+ *
+ * - gateway.route.jwt {route}: JWT verification in JwtAuthenticationFilter
+ * - gateway.route.connect {route}: pool acquisition / connect / TLS to the upstream
+ * - gateway.route.first-byte {route}: request sent until upstream response headers
+ * - gateway.route.total {route, status}: whole exchange as seen by the gateway
+ * Each timer publishes a percentile histogram, so p95/p99 can be aggregated across replicas.
+ */
+@Component
+public class RouteLatencyMetrics {
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(60);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RouteLatencyMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String routeId, String status, ExchangeTiming timing, long endNanos) {
+        recordPhase("gateway.route.jwt", routeId, null, timing.jwtNanos());
+        recordPhase("gateway.route.connect", routeId, null, timing.connectNanos());
+        recordPhase("gateway.route.first-byte", routeId, null, timing.firstByteNanos());
+        recordPhase("gateway.route.total", routeId, status, endNanos - timing.getStartNanos());
+    }
+
+    private void recordPhase(String name, String routeId, String status, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        String key = name + '|' + routeId + '|' + status;
+        timers.computeIfAbsent(key, k -> {
+            Timer.Builder builder = Timer.builder(name)
+                    .tag("route", routeId)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED);
+            if (status != null) {
+                builder.tag("status", status);
+            }
+            return builder.register(meterRegistry);
+        }).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,30 @@
+package com.oddiya.gateway.metrics;
+
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Stamps request-sent and first-byte times on the routing HttpClient
+ * The ExchangeTiming comes from the Reactor context written by RouteTimingFilter.
+ */
+@Component
+public class UpstreamTimingCustomizer implements HttpClientCustomizer {
+
+    @Override
+    public HttpClient customize(HttpClient httpClient) {
+        return httpClient
+                .doOnRequest((request, connection) -> {
+                    ExchangeTiming timing = ExchangeTiming.from(request.currentContextView());
+                    if (timing != null) {
+                        timing.markRequestSent();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    ExchangeTiming timing = ExchangeTiming.from(response.currentContextView());
+                    if (timing != null) {
+                        timing.markFirstByte();
+                    }
+                });
+    }
+}
@@ -0,0 +1,16 @@
+package com.oddiya.gateway.ratelimit;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class RateLimitResult {
+    boolean allowed;
+    long remaining;
+    Duration retryAfter;  // zero when allowed
+
+    public static RateLimitResult unlimited() {
+        return new RateLimitResult(true, -1, Duration.ZERO);
+    }
+}
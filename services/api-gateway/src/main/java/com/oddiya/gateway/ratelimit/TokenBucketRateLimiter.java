@@ -0,0 +1,62 @@
+package com.oddiya.gateway.ratelimit;
+
+import com.oddiya.gateway.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis token bucket keyed by user
+ *
+ * Refill and spend happen in one Lua script (scripts/token_bucket.lua) using Redis server time,
+ * so every gateway replica sees the same bucket. If Redis errors or exceeds redis-timeout the
+ * request is allowed: an unavailable limiter should not take the API down with it.
+ */
+@Slf4j
+@Component
+public class TokenBucketRateLimiter {
+
+    static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+
+    public TokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    public Mono<RateLimitResult> consume(String userId, int cost) {
+        List<String> args = List.of(
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(properties.getRefillPerSecond()),
+                String.valueOf(Math.min(cost, properties.getCapacity())));
+
+        return redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + userId), args)
+                .next()
+                .timeout(properties.getRedisTimeout())
+                .map(TokenBucketRateLimiter::toResult)
+                .onErrorResume(e -> {
+                    log.warn("Rate limiter unavailable, allowing request: {}", e.getMessage());
+                    return Mono.just(RateLimitResult.unlimited());
+                })
+                .defaultIfEmpty(RateLimitResult.unlimited());
+    }
+
+    static RateLimitResult toResult(List<?> reply) {
+        boolean allowed = ((Number) reply.get(0)).longValue() == 1;
+        long remaining = ((Number) reply.get(1)).longValue();
+        Duration retryAfter = Duration.ofMillis(((Number) reply.get(2)).longValue());
+        return new RateLimitResult(allowed, remaining, retryAfter);
+    }
+}
@@ -0,0 +1,15 @@
+package com.oddiya.gateway.security;
+
+/**
+ * Thrown when an access token is malformed, badly signed or outside its validity window
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,121 @@
+package com.oddiya.gateway.security;
+
+import com.oddiya.gateway.config.JwtProperties;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fetches and caches auth-service's public signing keys (JWKS)
+ * Keys are re-fetched when stale or when a token references an unknown key id.
+ * Concurrent refreshes share a single HTTP call; on failure the last known keys are kept.
+ */
+@Slf4j
+@Component
+public class JwksKeyProvider {
+
+    private final WebClient webClient;
+    private final JwtProperties properties;
+
+    private final AtomicReference<Mono<Map<String, PublicKey>>> inFlight = new AtomicReference<>();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastSuccessNanos;
+    private volatile long lastAttemptNanos;
+
+    public JwksKeyProvider(WebClient.Builder webClientBuilder, JwtProperties properties) {
+        this.webClient = webClientBuilder.build();
+        this.properties = properties;
+    }
+
+    /**
+     * Keys currently held in memory, by key id
+     */
+    public Map<String, PublicKey> currentKeys() {
+        return keys;
+    }
+
+    /**
+     * Keys for verification, fetching them first if none are loaded or they are stale
+     */
+    public Mono<Map<String, PublicKey>> getKeys() {
+        Map<String, PublicKey> current = keys;
+        if (!current.isEmpty() && !elapsed(lastSuccessNanos, properties.getJwksRefreshInterval().toNanos())) {
+            return Mono.just(current);
+        }
+        return refresh();
+    }
+
+    /**
+     * Re-fetch after an unknown key id, rate-limited so forged kids cannot hammer auth-service
+     */
+    public Mono<Map<String, PublicKey>> refreshIfAllowed() {
+        if (!elapsed(lastAttemptNanos, properties.getJwksMinRefreshInterval().toNanos())) {
+            return Mono.just(keys);
+        }
+        return refresh();
+    }
+
+    private Mono<Map<String, PublicKey>> refresh() {
+        Mono<Map<String, PublicKey>> pending = inFlight.get();
+        if (pending != null) {
+            return pending;
+        }
+
+        Mono<Map<String, PublicKey>> fetch = webClient.get()
+                .uri(properties.getJwksUri())
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(properties.getJwksTimeout())
+                .map(JwksKeyProvider::parseJwkSet)
+                .doOnNext(parsed -> {
+                    keys = parsed;
+                    lastSuccessNanos = System.nanoTime();
+                    log.info("Loaded {} signing key(s) from {}", parsed.size(), properties.getJwksUri());
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch JWKS from {}: {}", properties.getJwksUri(), e.getMessage());
+                    return Mono.just(keys);
+                })
+                .doFinally(signal -> {
+                    lastAttemptNanos = System.nanoTime();
+                    inFlight.set(null);
+                })
+                .cache();
+
+        if (inFlight.compareAndSet(null, fetch)) {
+            return fetch;
+        }
+        Mono<Map<String, PublicKey>> winner = inFlight.get();
+        return winner != null ? winner : Mono.just(keys);
+    }
+
+    static Map<String, PublicKey> parseJwkSet(String json) {
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet) {
+            Key key = jwk.toKey();
+            if (jwk.getId() != null && key instanceof PublicKey publicKey) {
+                parsed.put(jwk.getId(), publicKey);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("JWKS contains no usable public keys");
+        }
+        return Map.copyOf(parsed);
+    }
+
+    private static boolean elapsed(long sinceNanos, long intervalNanos) {
+        return sinceNanos == 0 || System.nanoTime() - sinceNanos >= intervalNanos;
+    }
+}
@@ -0,0 +1,44 @@
+package com.oddiya.gateway.security;
+
+/**
+ * Asymmetric JWS algorithms the gateway can verify, with their JCA signature names
+ * ES256 uses the P1363 (raw r||s) encoding that JWS signatures are in, not DER.
+ */
+public enum JwsAlgorithm {
+    RS256("RS256", "SHA256withRSA"),
+    ES256("ES256", "SHA256withECDSAinP1363Format"),
+    EDDSA("EdDSA", "Ed25519");
+
+    private final String jwaName;
+    private final String jcaName;
+
+    JwsAlgorithm(String jwaName, String jcaName) {
+        this.jwaName = jwaName;
+        this.jcaName = jcaName;
+    }
+
+    public String getJwaName() {
+        return jwaName;
+    }
+
+    String getJcaName() {
+        return jcaName;
+    }
+
+    static JwsAlgorithm fromJwaName(String jwaName) {
+        JwsAlgorithm algorithm = fromJwaNameOrNull(jwaName);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unsupported JWS algorithm: " + jwaName);
+        }
+        return algorithm;
+    }
+
+    static JwsAlgorithm fromJwaNameOrNull(String jwaName) {
+        for (JwsAlgorithm algorithm : values()) {
+            if (algorithm.jwaName.equals(jwaName)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,315 @@
+package com.oddiya.gateway.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and verifies compact JWS access tokens on the gateway hot path
+ *
+ * Avoids the per-request garbage of split / Base64 String / JsonNode parsing:
+ * segments are located with indexOf, decoded into per-thread scratch buffers and
+ * only the claims the gateway needs (userId, sub, exp, nbf, jti) are pulled with a
+ * streaming JSON parser. Only the configured algorithms (RS256 by default) are accepted,
+ * and a key only verifies signatures of its own type.
+ */
+public class JwsTokenReader {
+
+    // Upper bound on accepted token length; our access tokens are well under 1 KB
+    static final int MAX_TOKEN_LENGTH = 8192;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final int[] BASE64_URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64_URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final long clockSkewSeconds;
+    private final Set<JwsAlgorithm> algorithms;
+
+    public JwsTokenReader(long clockSkewSeconds) {
+        this(clockSkewSeconds, List.of(JwsAlgorithm.RS256.getJwaName()));
+    }
+
+    /**
+     * @param algorithms accepted JWA names, e.g. RS256, ES256, EdDSA
+     */
+    public JwsTokenReader(long clockSkewSeconds, Collection<String> algorithms) {
+        this.clockSkewSeconds = clockSkewSeconds;
+        this.algorithms = algorithms.stream()
+                .map(JwsAlgorithm::fromJwaName)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(JwsAlgorithm.class)));
+    }
+
+    /**
+     * SHA-256 of the token, computed without allocating intermediate byte arrays
+     */
+    public static TokenDigest digest(String token) {
+        Scratch scratch = SCRATCH.get();
+        int length = scratch.copyAscii(token);
+        MessageDigest sha256 = scratch.sha256;
+        sha256.update(scratch.ascii, 0, length);
+        byte[] out = scratch.digest;
+        try {
+            sha256.digest(out, 0, out.length);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 digest failed", e);
+        }
+        return new TokenDigest(readLong(out, 0), readLong(out, 8), readLong(out, 16), readLong(out, 24));
+    }
+
+    /**
+     * Verify signature and validity window, returning the gateway claims
+     *
+     * @param keys verification keys by key id
+     * @throws UnknownSigningKeyException if the kid is not in {@code keys}
+     * @throws InvalidTokenException for any other failure
+     */
+    public VerifiedToken read(String token, Map<String, PublicKey> keys) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new InvalidTokenException("Invalid JWT token format");
+        }
+
+        Scratch scratch = SCRATCH.get();
+        int length = scratch.copyAscii(token);
+        byte[] ascii = scratch.ascii;
+
+        // Header: alg + kid
+        int headerLength = decode(ascii, 0, firstDot, scratch.decoded(firstDot));
+        String kid = readHeader(scratch, headerLength);
+        JwsAlgorithm algorithm = scratch.algorithm;
+
+        PublicKey key = kid != null
+                ? keys.get(kid)
+                : (keys.size() == 1 ? keys.values().iterator().next() : null);
+        if (key == null) {
+            throw new UnknownSigningKeyException("Unknown signing key id: " + kid);
+        }
+
+        // Signature over "<header>.<payload>"
+        int signatureLength = decode(ascii, secondDot + 1, length, scratch.signature(length - secondDot - 1));
+        try {
+            // initVerify rejects a key of the wrong type, so an RSA kid cannot vouch for an ES256 token
+            Signature signature = scratch.verifier(algorithm);
+            signature.initVerify(key);
+            signature.update(ascii, 0, secondDot);
+            if (!signature.verify(scratch.signature, 0, signatureLength)) {
+                throw new InvalidTokenException("JWT signature does not match");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new InvalidTokenException("JWT signature could not be verified", e);
+        }
+
+        int payloadLength = decode(ascii, firstDot + 1, secondDot, scratch.decoded(secondDot - firstDot - 1));
+        return readPayload(scratch.decoded, payloadLength);
+    }
+
+    private String readHeader(Scratch scratch, int length) {
+        String alg = null;
+        String kid = null;
+        try (JsonParser parser = JSON.createParser(scratch.decoded, 0, length)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "alg" -> alg = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "kid" -> kid = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "crit" -> throw new InvalidTokenException("Critical JWT header extensions are not supported");
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new InvalidTokenException("Malformed JWT header", e);
+        }
+        JwsAlgorithm algorithm = JwsAlgorithm.fromJwaNameOrNull(alg);
+        if (algorithm == null || !algorithms.contains(algorithm)) {
+            throw new InvalidTokenException("Unsupported JWT algorithm: " + alg);
+        }
+        scratch.algorithm = algorithm;
+        return kid;
+    }
+
+    private VerifiedToken readPayload(byte[] json, int length) {
+        Long userId = null;
+        String subject = null;
+        String tokenId = null;
+        long exp = Long.MIN_VALUE;
+        long nbf = Long.MIN_VALUE;
+        try (JsonParser parser = JSON.createParser(json, 0, length)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "userId" -> userId = readLong(parser, value);
+                    case "sub" -> subject = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "jti" -> tokenId = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "exp" -> exp = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : Long.MIN_VALUE;
+                    case "nbf" -> nbf = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : Long.MIN_VALUE;
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new InvalidTokenException("Malformed JWT payload", e);
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        if (exp == Long.MIN_VALUE) {
+            throw new InvalidTokenException("JWT has no expiration");
+        }
+        if (now - clockSkewSeconds >= exp) {
+            throw new InvalidTokenException("JWT expired");
+        }
+        if (nbf != Long.MIN_VALUE && now + clockSkewSeconds < nbf) {
+            throw new InvalidTokenException("JWT not yet valid");
+        }
+        return new VerifiedToken(userId, subject, Instant.ofEpochSecond(exp), tokenId);
+    }
+
+    private static Long readLong(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static void expectObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new InvalidTokenException("JWT segment is not a JSON object");
+        }
+    }
+
+    /**
+     * Unpadded base64url decode of src[from, to) into dst, returning the decoded length
+     */
+    static int decode(byte[] src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            throw new InvalidTokenException("Invalid base64url length");
+        }
+        int out = 0;
+        int buffer = 0;
+        int bits = 0;
+        for (int i = from; i < to; i++) {
+            int c = src[i];
+            int v = c >= 0 && c < 128 ? BASE64_URL[c] : -1;
+            if (v < 0) {
+                throw new InvalidTokenException("Invalid base64url character");
+            }
+            buffer = (buffer << 6) | v;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                dst[out++] = (byte) (buffer >> bits);
+            }
+        }
+        return out;
+    }
+
+    private static long readLong(byte[] b, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (b[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Per-thread buffers and JCA instances reused across requests
+     */
+    private static final class Scratch {
+
+        private final MessageDigest sha256;
+        private final Signature[] signatures = new Signature[JwsAlgorithm.values().length];
+        private final byte[] digest = new byte[32];
+        private JwsAlgorithm algorithm;  // of the header just read
+        private byte[] ascii = new byte[1024];
+        private byte[] decoded = new byte[1024];
+        private byte[] signature = new byte[512];
+
+        private Scratch() {
+            try {
+                this.sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Required JCA algorithm not available", e);
+            }
+        }
+
+        private int copyAscii(String token) {
+            int length = token.length();
+            if (length > MAX_TOKEN_LENGTH) {
+                throw new InvalidTokenException("JWT exceeds maximum length");
+            }
+            if (ascii.length < length) {
+                ascii = new byte[length];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    throw new InvalidTokenException("JWT contains non-ASCII characters");
+                }
+                ascii[i] = (byte) c;
+            }
+            return length;
+        }
+
+        private Signature verifier(JwsAlgorithm algorithm) throws GeneralSecurityException {
+            Signature signature = signatures[algorithm.ordinal()];
+            if (signature == null) {
+                signature = Signature.getInstance(algorithm.getJcaName());
+                signatures[algorithm.ordinal()] = signature;
+            }
+            return signature;
+        }
+
+        private byte[] decoded(int encodedLength) {
+            int needed = encodedLength * 3 / 4 + 1;
+            if (decoded.length < needed) {
+                decoded = new byte[needed];
+            }
+            return decoded;
+        }
+
+        private byte[] signature(int encodedLength) {
+            int needed = encodedLength * 3 / 4 + 1;
+            if (signature.length < needed) {
+                signature = new byte[needed];
+            }
+            return signature;
+        }
+    }
+}
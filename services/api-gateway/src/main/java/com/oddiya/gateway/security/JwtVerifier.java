@@ -0,0 +1,116 @@
+package com.oddiya.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.oddiya.gateway.config.JwtProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access tokens issued by auth-service (RS256, ES256 or EdDSA, per gateway.jwt.algorithms)
+ *
+ * Verified tokens are cached by SHA-256 digest until the earlier of their expiry
+ * or the configured TTL, so repeat requests with the same token skip the signature check.
+ * Cache misses are verified by {@link JwsTokenReader} without building a JSON tree.
+ * Metrics:
+ * - gateway.jwt.verification (timer): signature verification on cache misses
+ * - cache.* {cache=gateway.jwt.verified-tokens}: hit/miss/eviction counts
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+    static final String CACHE_NAME = "gateway.jwt.verified-tokens";
+
+    private final JwksKeyProvider keyProvider;
+    private final JwsTokenReader tokenReader;
+    private final Cache<TokenDigest, VerifiedToken> verifiedTokens;
+    private final Timer verificationTimer;
+
+    public JwtVerifier(JwksKeyProvider keyProvider, JwtProperties properties, MeterRegistry meterRegistry) {
+        this.keyProvider = keyProvider;
+        this.tokenReader = new JwsTokenReader(properties.getClockSkew().toSeconds(), properties.getAlgorithms());
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfter(new TokenExpiry(properties.getCacheTtl()))
+                .recordStats()
+                .build();
+        this.verificationTimer = Timer.builder("gateway.jwt.verification")
+                .description("JWT signature verification latency on cache misses")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+    }
+
+    /**
+     * Verify token signature and expiry, returning its claims
+     * Errors with InvalidTokenException (or UnknownSigningKeyException) if the token is not valid.
+     */
+    public Mono<VerifiedToken> verify(String token) {
+        TokenDigest digest;
+        try {
+            digest = JwsTokenReader.digest(token);
+        } catch (InvalidTokenException e) {
+            return Mono.error(e);
+        }
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return keyProvider.getKeys()
+                .map(keys -> read(token))
+                .onErrorResume(UnknownSigningKeyException.class, e -> keyProvider.refreshIfAllowed()
+                        .map(keys -> read(token)))
+                .doOnNext(verified -> verifiedTokens.put(digest, verified));
+    }
+
+    private VerifiedToken read(String token) {
+        long start = System.nanoTime();
+        try {
+            return tokenReader.read(token, keyProvider.currentKeys());
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Expire cache entries at token expiry, capped by the configured TTL
+     */
+    private static final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        private final long ttlNanos;
+
+        private TokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return ttlNanos;
+            }
+            long untilExpiry = Duration.between(Instant.now(), value.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
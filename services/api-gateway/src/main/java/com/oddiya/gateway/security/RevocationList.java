@@ -0,0 +1,150 @@
+package com.oddiya.gateway.security;
+
+import com.oddiya.gateway.config.RevocationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local mirror of auth-service's access-token denylist
+ *
+ * Revoked jtis are pulled from Redis at most every sync-interval (only when the version
+ * counter moved) into an immutable Bloom filter. A Bloom miss - nearly every request -
+ * is answered from memory without locking. A Bloom hit is confirmed against Redis once
+ * and the answer kept until the next sync; if Redis cannot answer, the token is rejected.
+ * Tokens revoked since the last sync are not seen until the next one.
+ * Metrics:
+ * - gateway.jwt.revocation.lookups {result=bloom-negative|cached|redis}
+ * - gateway.jwt.revocation.denylist-size (gauge): ids in the last synced list
+ */
+@Slf4j
+@Component
+public class RevocationList {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RevocationProperties properties;
+    private final AtomicBoolean syncing = new AtomicBoolean();
+    private final Counter bloomNegative;
+    private final Counter cached;
+    private final Counter redisLookups;
+
+    private volatile Snapshot snapshot;
+    private volatile long nextSyncNanos = System.nanoTime();
+
+    public RevocationList(ReactiveStringRedisTemplate redisTemplate, RevocationProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.snapshot = new Snapshot(null, List.of(), properties);
+        this.bloomNegative = lookups(meterRegistry, "bloom-negative");
+        this.cached = lookups(meterRegistry, "cached");
+        this.redisLookups = lookups(meterRegistry, "redis");
+        Gauge.builder("gateway.jwt.revocation.denylist-size", this, list -> list.snapshot.size)
+                .description("Revoked access-token ids in the last synced denylist")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the token with this jti has been revoked
+     * Tokens without a jti predate revocation support and are never considered revoked.
+     */
+    public Mono<Boolean> isRevoked(String tokenId) {
+        if (!properties.isEnabled() || tokenId == null) {
+            return Mono.just(false);
+        }
+        syncIfDue();
+
+        Snapshot current = snapshot;
+        if (!current.bloom.mightContain(tokenId)) {
+            bloomNegative.increment();
+            return Mono.just(false);
+        }
+        Boolean known = current.confirmed.get(tokenId);
+        if (known != null) {
+            cached.increment();
+            return Mono.just(known);
+        }
+
+        redisLookups.increment();
+        return redisTemplate.opsForZSet().score(properties.getKey(), tokenId)
+                .map(expiresAt -> expiresAt > System.currentTimeMillis())
+                .defaultIfEmpty(false)
+                .timeout(properties.getRedisTimeout())
+                .doOnNext(revoked -> current.remember(tokenId, revoked, properties.getConfirmedCacheSize()))
+                .onErrorResume(e -> {
+                    log.warn("Revocation lookup failed, rejecting token: {}", e.getMessage());
+                    return Mono.just(true);
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void syncOnStartup() {
+        syncIfDue();
+    }
+
+    private void syncIfDue() {
+        long now = System.nanoTime();
+        if (!properties.isEnabled() || now - nextSyncNanos < 0 || !syncing.compareAndSet(false, true)) {
+            return;
+        }
+        nextSyncNanos = now + properties.getSyncInterval().toNanos();
+        sync().doFinally(signal -> syncing.set(false))
+                .subscribe(null, e -> log.warn("Failed to sync token denylist: {}", e.getMessage()));
+    }
+
+    Mono<Void> sync() {
+        return redisTemplate.opsForValue().get(properties.getVersionKey())
+                .defaultIfEmpty("0")
+                .filter(version -> !version.equals(snapshot.version))
+                .flatMap(version -> redisTemplate.opsForZSet()
+                        .rangeByScore(properties.getKey(),
+                                Range.rightUnbounded(Range.Bound.inclusive((double) System.currentTimeMillis())))
+                        .collectList()
+                        .doOnNext(ids -> {
+                            snapshot = new Snapshot(version, ids, properties);
+                            log.debug("Synced token denylist version {} ({} ids)", version, ids.size());
+                        }))
+                .then();
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.jwt.revocation.lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One synced copy of the denylist plus the Redis answers for its Bloom hits
+     */
+    private static final class Snapshot {
+
+        private final String version;
+        private final BloomFilter bloom;
+        private final int size;
+        private final Map<String, Boolean> confirmed = new ConcurrentHashMap<>();
+
+        private Snapshot(String version, List<String> ids, RevocationProperties properties) {
+            this.version = version;
+            this.bloom = BloomFilter.of(ids, properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+            this.size = ids.size();
+        }
+
+        private void remember(String tokenId, boolean revoked, int maxSize) {
+            if (confirmed.size() < maxSize) {
+                confirmed.put(tokenId, revoked);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.oddiya.gateway.security;
+
+import lombok.Value;
+
+/**
+ * SHA-256 digest of a raw token, held as four longs
+ * Used as the verified-token cache key so the token itself is never retained.
+ */
+@Value
+public class TokenDigest {
+    long w0;
+    long w1;
+    long w2;
+    long w3;
+}
@@ -0,0 +1,11 @@
+package com.oddiya.gateway.security;
+
+/**
+ * Thrown when a token references a key id that is not in the current JWKS
+ */
+public class UnknownSigningKeyException extends RuntimeException {
+
+    public UnknownSigningKeyException(String message) {
+        super(message);
+    }
+}
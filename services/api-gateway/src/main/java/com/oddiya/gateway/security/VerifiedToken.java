@@ -0,0 +1,16 @@
+package com.oddiya.gateway.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Claims the gateway needs from a signature-verified access token
+ */
+@Value
+public class VerifiedToken {
+    Long userId;
+    String subject;
+    Instant expiresAt;
+    String tokenId;  // jti; null for tokens issued before auth-service assigned one
+}
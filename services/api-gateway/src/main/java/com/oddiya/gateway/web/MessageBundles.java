@@ -0,0 +1,109 @@
+package com.oddiya.gateway.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oddiya.gateway.config.UIMessages;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * UI message bundles, serialized once per locale at startup
+ *
+ * Each bundle is the locale's messages over the default locale's (so every bundle has every
+ * key), written as JSON with sorted keys and content-hashed. Clients that ask for
+ * /api/messages/{locale}?v={version} with the current version get an immutable one-year cache
+ * lifetime; without it the bundle is revalidated via its strong ETag (304 on app launch).
+ */
+@Slf4j
+@Component
+public class MessageBundles {
+
+    private static final CacheControl VERSIONED_CACHE =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl UNVERSIONED_CACHE = CacheControl.noCache();
+    private static final MediaType JSON_UTF8 = new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+
+    private final String defaultLocale;
+    private final List<Locale> available = new ArrayList<>();
+    private final Map<String, Bundle> bundles = new HashMap<>();
+
+    public MessageBundles(UIMessages uiMessages, ObjectMapper objectMapper) throws JsonProcessingException {
+        this.defaultLocale = uiMessages.getDefaultLocale();
+        Map<String, String> defaults = uiMessages.getMessages().getOrDefault(defaultLocale, Map.of());
+
+        for (Map.Entry<String, Map<String, String>> locale : uiMessages.getMessages().entrySet()) {
+            Map<String, String> merged = new TreeMap<>(defaults);
+            merged.putAll(locale.getValue());
+            byte[] json = objectMapper.writeValueAsBytes(merged);
+            String version = StaticAssetRegistry.hash(json);
+            bundles.put(locale.getKey(), new Bundle(version,
+                    StaticAssetRegistry.Asset.of(json, JSON_UTF8, version, VERSIONED_CACHE),
+                    StaticAssetRegistry.Asset.of(json, JSON_UTF8, version, UNVERSIONED_CACHE)));
+            available.add(Locale.forLanguageTag(locale.getKey()));
+        }
+        if (!bundles.containsKey(defaultLocale)) {
+            throw new IllegalStateException("No messages for default locale " + defaultLocale);
+        }
+
+        log.info("Loaded message bundles for locales {}", bundles.keySet());
+    }
+
+    /**
+     * Serve a locale's bundle; long-lived only when {@code version} is the current one
+     */
+    public ResponseEntity<byte[]> bundle(String locale, String version, ServerHttpRequest request) {
+        Bundle bundle = bundles.get(locale);
+        if (bundle == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean current = bundle.version.equals(version);
+        return StaticAssetRegistry.serve(current ? bundle.versioned : bundle.unversioned, request);
+    }
+
+    /**
+     * Best available locale for an Accept-Language header (or explicit tag), else the default
+     */
+    public String negotiate(String requested) {
+        if (requested != null && !requested.isBlank()) {
+            try {
+                Locale match = Locale.lookup(Locale.LanguageRange.parse(requested), available);
+                if (match != null) {
+                    return match.toLanguageTag();
+                }
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring malformed language range: {}", requested);
+            }
+        }
+        return defaultLocale;
+    }
+
+    public String version(String locale) {
+        Bundle bundle = bundles.get(locale);
+        return bundle != null ? bundle.version : null;
+    }
+
+    public List<String> locales() {
+        return available.stream().map(Locale::toLanguageTag).toList();
+    }
+
+    @Value
+    private static class Bundle {
+        String version;
+        StaticAssetRegistry.Asset versioned;    // served when the request names the current version
+        StaticAssetRegistry.Asset unversioned;
+    }
+}
@@ -0,0 +1,226 @@
+package com.oddiya.gateway.web;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Web UI assets served from memory (classpath:/web/**)
+ *
+ * At startup every CSS/JS file is content-hashed and exposed as /assets/{dir}/{name}.{hash}.{ext}
+ * with an immutable one-year cache lifetime. HTML pages reference assets as {{asset:dir/name.ext}},
+ * which is rewritten to the hashed URL; pages are revalidated on every load via strong ETags.
+ * Identity and gzip bodies are precomputed once, so a request is a map lookup plus a byte copy.
+ */
+@Slf4j
+@Component
+public class StaticAssetRegistry {
+
+    public static final String ASSET_PATH_PREFIX = "/assets/";
+
+    private static final String LOCATION = "classpath:/web/";
+    private static final Pattern ASSET_REFERENCE = Pattern.compile("\\{\\{asset:([^}]+)}}");
+    private static final int HASH_LENGTH = 12;
+
+    private static final CacheControl PAGE_CACHE = CacheControl.noCache();
+    private static final CacheControl HASHED_ASSET_CACHE =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final Map<String, Asset> pages = new HashMap<>();
+    private final Map<String, Asset> hashedAssets = new HashMap<>();
+
+    public StaticAssetRegistry() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION + "**/*.*");
+
+        Map<String, String> hashedUrls = new HashMap<>();
+        Map<String, byte[]> htmlSources = new HashMap<>();
+        for (Resource resource : resources) {
+            String name = relativeName(resource);
+            byte[] content = read(resource);
+            if (name.endsWith(".html")) {
+                htmlSources.put(name, content);
+                continue;
+            }
+            String hash = hash(content);
+            int dot = name.lastIndexOf('.');
+            String hashedName = name.substring(0, dot) + "." + hash + name.substring(dot);
+            hashedAssets.put(hashedName, Asset.of(content, mediaType(name), hash, HASHED_ASSET_CACHE));
+            hashedUrls.put(name, ASSET_PATH_PREFIX + hashedName);
+        }
+
+        for (Map.Entry<String, byte[]> page : htmlSources.entrySet()) {
+            byte[] rendered = resolveAssetReferences(page.getKey(), page.getValue(), hashedUrls);
+            pages.put(page.getKey(), Asset.of(rendered, MediaType.parseMediaType("text/html;charset=UTF-8"),
+                    hash(rendered), PAGE_CACHE));
+        }
+
+        log.info("Loaded {} page(s) and {} hashed asset(s) from {}", pages.size(), hashedAssets.size(), LOCATION);
+    }
+
+    /**
+     * Serve an HTML page by source name, e.g. "app/index.html"
+     */
+    public ResponseEntity<byte[]> page(String name, ServerHttpRequest request) {
+        Asset asset = pages.get(name);
+        if (asset == null) {
+            throw new IllegalArgumentException("Unknown page: " + name);
+        }
+        return serve(asset, request);
+    }
+
+    /**
+     * Serve a hashed asset by its path below /assets/
+     */
+    public ResponseEntity<byte[]> hashedAsset(String hashedName, ServerHttpRequest request) {
+        Asset asset = hashedAssets.get(hashedName);
+        if (asset == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return serve(asset, request);
+    }
+
+    static ResponseEntity<byte[]> serve(Asset asset, ServerHttpRequest request) {
+        boolean gzip = asset.getGzip() != null && acceptsGzip(request);
+        String etag = gzip ? asset.getGzipEtag() : asset.getEtag();
+
+        if (matches(request.getHeaders().getIfNoneMatch(), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(asset.getCacheControl())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(asset.getContentType())
+                .eTag(etag)
+                .cacheControl(asset.getCacheControl())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(asset.getGzip());
+        }
+        return response.body(asset.getIdentity());
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        for (String value : request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String trimmed = coding.trim();
+                if (trimmed.startsWith("gzip") && !trimmed.replace(" ", "").endsWith(";q=0")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] resolveAssetReferences(String page, byte[] html, Map<String, String> hashedUrls) {
+        Matcher matcher = ASSET_REFERENCE.matcher(new String(html, StandardCharsets.UTF_8));
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            String url = hashedUrls.get(matcher.group(1));
+            if (url == null) {
+                throw new IllegalStateException(page + " references unknown asset " + matcher.group(1));
+            }
+            matcher.appendReplacement(out, Matcher.quoteReplacement(url));
+        }
+        matcher.appendTail(out);
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String relativeName(Resource resource) throws IOException {
+        String uri = resource.getURI().toString();
+        return uri.substring(uri.lastIndexOf("/web/") + "/web/".length());
+    }
+
+    private static MediaType mediaType(String name) {
+        MediaType type = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return type.getType().equals("text") || name.endsWith(".js")
+                ? new MediaType(type, StandardCharsets.UTF_8)
+                : type;
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new IllegalStateException("gzip failed", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Value
+    static class Asset {
+        MediaType contentType;
+        byte[] identity;
+        byte[] gzip;          // null when compression does not pay off
+        String etag;
+        String gzipEtag;
+        CacheControl cacheControl;
+
+        static Asset of(byte[] content, MediaType contentType, String hash, CacheControl cacheControl) {
+            byte[] compressed = gzip(content);
+            boolean worthIt = compressed.length < content.length;
+            return new Asset(
+                    contentType,
+                    content,
+                    worthIt ? compressed : null,
+                    "\"" + hash + "\"",
+                    "\"" + hash + "-gzip\"",
+                    cacheControl
+            );
+        }
+    }
+}
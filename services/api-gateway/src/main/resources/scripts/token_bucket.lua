@@ -0,0 +1,37 @@
+-- Token bucket shared by all gateway replicas
+-- KEYS[1]: bucket key
+-- ARGV[1]: capacity, ARGV[2]: refill tokens per second, ARGV[3]: cost of this request
+-- Returns {allowed (0/1), remaining tokens, retry after (ms)}
+local key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local cost = tonumber(ARGV[3])
+
+-- Redis server time, so replicas with skewed clocks refill the bucket identically
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+local allowed = 0
+local retry_after = 0
+if tokens >= cost then
+    tokens = tokens - cost
+    allowed = 1
+else
+    retry_after = math.ceil((cost - tokens) * 1000 / rate)
+end
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(now))
+-- A bucket idle long enough to refill completely carries no state worth keeping
+redis.call('PEXPIRE', key, math.ceil(capacity * 1000 / rate) + 1000)
+
+return {allowed, math.floor(tokens), retry_after}
@@ -0,0 +1,131 @@
+package com.oddiya.gateway.aggregation;
+
+import com.oddiya.gateway.config.AggregationProperties;
+import com.oddiya.gateway.config.UpstreamProperties;
+import com.oddiya.gateway.loadbalancer.UpstreamRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfileTripsAggregatorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneId.of("UTC"));
+
+    private static final String USER = "{\"id\":42,\"name\":\"Kim\",\"email\":\"kim@example.com\"}";
+    private static final String PLANS = "[" +
+            "{\"id\":1,\"title\":\"Seoul weekend\",\"startDate\":\"2025-05-01\",\"endDate\":\"2025-05-03\",\"details\":[]}," +
+            "{\"id\":2,\"title\":\"Busan trip\",\"startDate\":\"2025-06-11\",\"endDate\":\"2025-06-12\",\"details\":[]}]";
+    private static final String VIDEOS = "[{\"id\":7,\"status\":\"COMPLETED\",\"videoUrl\":\"https://cdn/7.mp4\"}," +
+            "{\"id\":8,\"status\":\"PENDING\"}]";
+
+    private final Map<String, String> seenUserIds = new ConcurrentHashMap<>();
+    private final Map<String, String> seenHosts = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testAggregate_WithAllLegs_MergesTripCollection() {
+        // Given
+        ProfileTripsAggregator aggregator = aggregator(Map.of(
+                "users", ok(USER), "plans", ok(PLANS), "videos", ok(VIDEOS)), Duration.ofSeconds(1));
+
+        // When / Then
+        StepVerifier.create(aggregator.aggregate("42"))
+                .assertNext(response -> {
+                    assertThat(response.getDegraded()).isEmpty();
+                    assertThat(response.getUser().get("name").asText()).isEqualTo("Kim");
+                    assertThat(response.getStatistics().getTotalTrips()).isEqualTo(2);
+                    assertThat(response.getStatistics().getTotalDays()).isEqualTo(5);
+                    assertThat(response.getStatistics().getTotalVideos()).isEqualTo(1);
+                    assertThat(response.getStatistics().getCitiesVisited()).containsExactly("Seoul", "Busan");
+                    assertThat(response.getCompletedTrips()).extracting(t -> t.getPlan().getId()).containsExactly(1L);
+                    assertThat(response.getUpcomingTrips()).singleElement()
+                            .satisfies(trip -> assertThat(trip.getDaysUntil()).isEqualTo(10));
+                })
+                .verifyComplete();
+        assertThat(seenUserIds).containsOnlyKeys("users", "plans", "videos").containsValues("42");
+        assertThat(seenHosts).containsEntry("users", "user-1:8082").containsEntry("plans", "plan-1:8083")
+                .containsEntry("videos", "video-1:8084");
+    }
+
+    @Test
+    void testAggregate_WithFailingVideoLeg_DegradesGracefully() {
+        // Given
+        ProfileTripsAggregator aggregator = aggregator(Map.of(
+                "users", ok(USER), "plans", ok(PLANS),
+                "videos", Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build())), Duration.ofSeconds(1));
+
+        // When / Then
+        StepVerifier.create(aggregator.aggregate("42"))
+                .assertNext(response -> {
+                    assertThat(response.getDegraded()).containsExactly("videos");
+                    assertThat(response.getStatistics().getTotalVideos()).isNull();
+                    assertThat(response.getStatistics().getTotalTrips()).isEqualTo(2);
+                })
+                .verifyComplete();
+        assertThat(meterRegistry.get("gateway.upstream.requests").tag("service", "video-service")
+                .tag("outcome", "failure").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.upstream.requests").tag("service", "plan-service")
+                .tag("outcome", "success").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.upstream.in-flight").tag("service", "video-service").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void testAggregate_WithSlowLeg_TimesOutThatLegOnly() {
+        // Given
+        ProfileTripsAggregator aggregator = aggregator(Map.of(
+                "users", ok(USER), "plans", Mono.never(), "videos", ok(VIDEOS)), Duration.ofMillis(100));
+
+        // When / Then
+        StepVerifier.create(aggregator.aggregate("42"))
+                .assertNext(response -> {
+                    assertThat(response.getDegraded()).containsExactly("plans");
+                    assertThat(response.getUser()).isNotNull();
+                    assertThat(response.getCompletedTrips()).isEmpty();
+                })
+                .verifyComplete();
+    }
+
+    private ProfileTripsAggregator aggregator(Map<String, Mono<ClientResponse>> responses, Duration timeout) {
+        ExchangeFunction exchange = request -> {
+            String service = request.url().getPath().split("/")[3];
+            seenUserIds.put(service, request.headers().getFirst("X-User-Id"));
+            seenHosts.put(service, request.url().getAuthority());
+            return responses.get(service);
+        };
+        AggregationProperties properties = new AggregationProperties();
+        properties.setUser(new AggregationProperties.Leg("lb://user-service/api/v1/users/me", timeout));
+        properties.setPlans(new AggregationProperties.Leg("lb://plan-service/api/v1/plans", timeout));
+        properties.setVideos(new AggregationProperties.Leg("lb://video-service/api/v1/videos", timeout));
+        UpstreamProperties upstreams = new UpstreamProperties();
+        upstreams.getServices().put("user-service", List.of("http://user-1:8082"));
+        upstreams.getServices().put("plan-service", List.of("http://plan-1:8083"));
+        upstreams.getServices().put("video-service", List.of("http://video-1:8084"));
+        UpstreamRegistry registry = new UpstreamRegistry(upstreams, meterRegistry);
+        return new ProfileTripsAggregator(WebClient.builder().exchangeFunction(exchange), properties, registry, CLOCK);
+    }
+
+    private static Mono<ClientResponse> ok(String json) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+    }
+}
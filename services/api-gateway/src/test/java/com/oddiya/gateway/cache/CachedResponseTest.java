@@ -0,0 +1,40 @@
+package com.oddiya.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedResponseTest {
+
+    @Test
+    void testEncode_RoundTripsContentTypeAndBody() {
+        // Given
+        CachedResponse response = new CachedResponse(1_700_000_000_000L, "application/json;charset=UTF-8",
+                "{\"plans\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        CachedResponse decoded = CachedResponse.decode(response.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(response);
+    }
+
+    @Test
+    void testEncode_WithoutContentType_RoundTripsNull() {
+        CachedResponse decoded = CachedResponse.decode(new CachedResponse(1L, null, new byte[]{1, 2}).encode());
+
+        assertThat(decoded.getContentType()).isNull();
+        assertThat(decoded.getBody()).containsExactly(1, 2);
+    }
+
+    @Test
+    void testIsExpired_AfterTtl_ReturnsTrue() {
+        CachedResponse response = new CachedResponse(1_000L, null, new byte[0]);
+
+        assertThat(response.isExpired(Duration.ofSeconds(5), 5_999L)).isFalse();
+        assertThat(response.isExpired(Duration.ofSeconds(5), 6_000L)).isTrue();
+    }
+}
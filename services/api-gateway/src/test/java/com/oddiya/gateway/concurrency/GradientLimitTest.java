@@ -0,0 +1,75 @@
+package com.oddiya.gateway.concurrency;
+
+import com.oddiya.gateway.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setInitialLimit(20);
+    }
+
+    @Test
+    void testOnSample_WithSteadyLatencyAtLimit_Grows() {
+        // Given
+        GradientLimit limit = new GradientLimit(properties);
+
+        // When
+        samples(limit, 200, 50 * MS, 20);
+
+        // Then
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void testOnSample_WhenLatencyRises_ShrinksTowardsMinimum() {
+        // Given
+        GradientLimit limit = new GradientLimit(properties);
+        samples(limit, 200, 50 * MS, 20);
+        int before = limit.getLimit();
+
+        // When: downstream slows to 10x its baseline
+        samples(limit, 300, 500 * MS, before);
+
+        // Then
+        assertThat(limit.getLimit()).isLessThan(before / 2).isGreaterThanOrEqualTo(properties.getMinLimit());
+    }
+
+    @Test
+    void testOnSample_WhenAppLimited_KeepsLimit() {
+        // Given
+        GradientLimit limit = new GradientLimit(properties);
+
+        // When: never more than 2 in flight against a limit of 20
+        samples(limit, 200, 50 * MS, 2);
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(properties.getInitialLimit());
+    }
+
+    @Test
+    void testOnSample_WithCeilingBelowMaxLimit_NeverGrowsPastIt() {
+        // Given: a route whose bulkhead admits 20
+        GradientLimit limit = new GradientLimit(properties, 20, 20);
+
+        // When
+        samples(limit, 200, 50 * MS, 20);
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    private static void samples(GradientLimit limit, int count, long rttNanos, int inFlight) {
+        for (int i = 0; i < count; i++) {
+            limit.onSample(rttNanos, inFlight);
+        }
+    }
+}
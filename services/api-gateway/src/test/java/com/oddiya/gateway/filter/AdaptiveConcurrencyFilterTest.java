@@ -0,0 +1,134 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.concurrency.Priority;
+import com.oddiya.gateway.config.ConcurrencyLimitProperties;
+import com.oddiya.gateway.filter.factory.BulkheadGatewayFilterFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class AdaptiveConcurrencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkheadGatewayFilterFactory bulkheads;
+    private AdaptiveConcurrencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties.Rule critical = new ConcurrencyLimitProperties.Rule();
+        critical.setPriority(Priority.CRITICAL);
+        critical.setMethods(List.of("POST"));
+        critical.setPaths(List.of("/api/plans"));
+        ConcurrencyLimitProperties.Rule low = new ConcurrencyLimitProperties.Rule();
+        low.setPriority(Priority.LOW);
+        low.setMethods(List.of("GET"));
+        low.setPaths(List.of("/api/plans"));
+
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setRules(List.of(critical, low));
+        bulkheads = new BulkheadGatewayFilterFactory(meterRegistry);
+        filter = new AdaptiveConcurrencyFilter(properties, meterRegistry, bulkheads);
+    }
+
+    @Test
+    void testFilter_NearLimit_ShedsLowPriorityBeforeCritical() {
+        // Given: 6 requests in flight = the low-priority share (0.6) of a limit of 10
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        for (int i = 0; i < 6; i++) {
+            filter.filter(exchange(MockServerHttpRequest.get("/api/plans/" + i)), e -> upstream.asMono()).subscribe();
+        }
+
+        // When
+        MockServerWebExchange list = exchange(MockServerHttpRequest.get("/api/plans"));
+        MockServerWebExchange create = exchange(MockServerHttpRequest.post("/api/plans"));
+        StepVerifier.create(filter.filter(list, e -> Mono.empty())).verifyComplete();
+        StepVerifier.create(filter.filter(create, e -> Mono.empty())).verifyComplete();
+
+        // Then
+        assertThat(list.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(create.getResponse().getStatusCode()).isNull();
+        assertThat(meterRegistry.get("gateway.concurrency.shed").tag("priority", "low").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.concurrency.in-flight").gauge().value()).isEqualTo(6.0);
+
+        upstream.tryEmitEmpty();
+        assertThat(meterRegistry.get("gateway.concurrency.in-flight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(10.0);
+    }
+
+    @Test
+    void testFilter_OnRouteWithBulkhead_StartsAtBulkheadSize() {
+        // Given
+        BulkheadGatewayFilterFactory.Config bulkhead = new BulkheadGatewayFilterFactory.Config();
+        bulkhead.setRouteId("plan-service");
+        bulkhead.setName("plan-service");
+        bulkhead.setMaxConcurrent(100);
+        bulkheads.apply(bulkhead);
+
+        // When
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/plans/1")), e -> Mono.empty()))
+                .verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(100.0);
+    }
+
+    @Test
+    void testFilter_WhenAnsweredWithoutUpstream_TakesNoLatencySample() {
+        // Given: every sample is a full window and moves the limit straight to its new estimate
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setWindowSize(1);
+        properties.setSmoothing(1.0);
+        AdaptiveConcurrencyFilter sampling = new AdaptiveConcurrencyFilter(properties, meterRegistry, bulkheads);
+
+        // When: a cache hit answers locally
+        StepVerifier.create(sampling.filter(exchange(MockServerHttpRequest.get("/api/plans/1")), e -> {
+            e.getAttributes().put(AdaptiveConcurrencyFilter.NOT_FORWARDED_ATTR, Boolean.TRUE);
+            return Mono.empty();
+        })).verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(2.0);
+
+        // When: a request goes upstream
+        StepVerifier.create(sampling.filter(exchange(MockServerHttpRequest.get("/api/plans/1")), e -> Mono.empty()))
+                .verifyComplete();
+
+        // Then: 2 + sqrt(2) at no latency increase
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void testPriorityOf_UsesFirstMatchingRule() {
+        assertThat(filter.priorityOf(HttpMethod.POST, path("/api/plans"))).isEqualTo(Priority.CRITICAL);
+        assertThat(filter.priorityOf(HttpMethod.GET, path("/api/plans"))).isEqualTo(Priority.LOW);
+        assertThat(filter.priorityOf(HttpMethod.GET, path("/api/plans/7"))).isEqualTo(Priority.NORMAL);
+    }
+
+    private static PathContainer path(String path) {
+        return PathContainer.parsePath(path);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id("plan-service").uri("lb://plan-service")
+                .predicate(e -> true).build());
+        return exchange;
+    }
+}
@@ -0,0 +1,127 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.config.HedgingProperties;
+import com.oddiya.gateway.config.UpstreamProperties;
+import com.oddiya.gateway.loadbalancer.UpstreamInstance;
+import com.oddiya.gateway.loadbalancer.UpstreamRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class HedgingFilterTest {
+
+    private static DisposableServer slow;
+    private static DisposableServer fast;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UpstreamInstance primary;
+
+    @BeforeAll
+    static void startServers() {
+        slow = HttpServer.create().port(0)
+                .handle((request, response) -> Mono.delay(Duration.ofMillis(300)).then(response.sendString(Mono.just("slow")).then()))
+                .bindNow();
+        fast = HttpServer.create().port(0)
+                .handle((request, response) -> response.sendString(Mono.just("fast")))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServers() {
+        slow.disposeNow();
+        fast.disposeNow();
+    }
+
+    @Test
+    void testFilter_WithSlowPrimary_HedgeToOtherInstanceWins() {
+        // Given
+        HedgingFilter filter = filter(1.0);
+        MockServerWebExchange exchange = exchange();
+
+        // When
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(exchange)).isEqualTo("fast");
+        assertThat(count("hedged")).isEqualTo(1.0);
+        assertThat(count("hedge-won")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testFilter_WithoutBudget_WaitsForPrimary() {
+        // Given
+        HedgingFilter filter = filter(0.0);
+        MockServerWebExchange exchange = exchange();
+
+        // When
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+        // Then
+        assertThat(body(exchange)).isEqualTo("slow");
+        assertThat(count("no-budget")).isEqualTo(1.0);
+        assertThat(count("primary")).isEqualTo(1.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private HedgingFilter filter(double budgetRatio) {
+        UpstreamProperties upstreams = new UpstreamProperties();
+        upstreams.getServices().put("plan-service", List.of(url(slow), url(fast)));
+        UpstreamRegistry registry = new UpstreamRegistry(upstreams, meterRegistry);
+        primary = registry.snapshot().get("plan-service").get(0);
+
+        HedgingProperties properties = new HedgingProperties();
+        properties.setMaxDelay(Duration.ofMillis(50));
+        properties.setBudgetRatio(budgetRatio);
+        return new HedgingFilter(HttpClient.create(), mock(ObjectProvider.class), registry, properties, meterRegistry);
+    }
+
+    private MockServerWebExchange exchange() {
+        Route route = Route.async()
+                .id("plan-service")
+                .uri("lb://plan-service")
+                .predicate(e -> true)
+                .metadata(HedgingFilter.METADATA_KEY, true)
+                .build();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/plans/7"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create(url(slow) + "/api/v1/plans/7"));
+        exchange.getAttributes().put(LoadBalancerFilter.INSTANCE_ATTR, primary);
+        return exchange;
+    }
+
+    private static String body(MockServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(CLIENT_RESPONSE_CONN_ATTR);
+        return connection.inbound().receive().aggregate().asString().block(Duration.ofSeconds(5));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.hedging.requests").tag("result", result).counter().count();
+    }
+
+    private static String url(DisposableServer server) {
+        return "http://localhost:" + server.port();
+    }
+}
@@ -0,0 +1,71 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.config.UpstreamProperties;
+import com.oddiya.gateway.loadbalancer.UpstreamRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+class LoadBalancerFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoadBalancerFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getServices().put("plan-service", List.of("http://plan-1:8083"));
+        filter = new LoadBalancerFilter(new UpstreamRegistry(properties, meterRegistry));
+    }
+
+    @Test
+    void testFilter_WithLbUri_ResolvesInstanceAndRecordsOutcome() {
+        // Given
+        MockServerWebExchange exchange = exchange("lb://plan-service/api/v1/plans/7?page=%202");
+        AtomicReference<URI> forwarded = new AtomicReference<>();
+
+        // When
+        StepVerifier.create(filter.filter(exchange, e -> {
+            forwarded.set(e.getAttribute(GATEWAY_REQUEST_URL_ATTR));
+            assertThat(meterRegistry.get("gateway.upstream.in-flight").gauge().value()).isEqualTo(1.0);
+            e.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+            return Mono.empty();
+        })).verifyComplete();
+
+        // Then
+        assertThat(forwarded.get()).hasToString("http://plan-1:8083/api/v1/plans/7?page=%202");
+        assertThat(meterRegistry.get("gateway.upstream.in-flight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("gateway.upstream.requests").tag("outcome", "failure").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testFilter_WithUnknownService_Fails() {
+        // Given
+        MockServerWebExchange exchange = exchange("lb://nowhere/api");
+
+        // When / Then
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty()))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    private static MockServerWebExchange exchange(String requestUrl) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/plans/7"));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create(requestUrl));
+        return exchange;
+    }
+}
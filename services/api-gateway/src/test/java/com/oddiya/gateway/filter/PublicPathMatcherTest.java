@@ -0,0 +1,34 @@
+package com.oddiya.gateway.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicPathMatcherTest {
+
+    @Test
+    void testIsPublicPath_WithPublicPrefixes_ReturnsTrue() {
+        assertThat(JwtAuthenticationFilter.isPublicPath("/api/auth/login")).isTrue();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/api/v1/auth/google/verify")).isTrue();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/oauth2/authorize/google")).isTrue();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/login/oauth2/code/google")).isTrue();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/actuator/health")).isTrue();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/.well-known/jwks.json")).isTrue();
+    }
+
+    @Test
+    void testIsPublicPath_WithExactPaths_ReturnsTrue() {
+        assertThat(JwtAuthenticationFilter.isPublicPath("/")).isTrue();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/index.html")).isTrue();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/favicon.ico")).isTrue();
+    }
+
+    @Test
+    void testIsPublicPath_WithProtectedPaths_ReturnsFalse() {
+        assertThat(JwtAuthenticationFilter.isPublicPath("/api/plans")).isFalse();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/api/users/me")).isFalse();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/api/auth")).isFalse();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/index.html/x")).isFalse();
+        assertThat(JwtAuthenticationFilter.isPublicPath("/api/plans/한글")).isFalse();
+    }
+}
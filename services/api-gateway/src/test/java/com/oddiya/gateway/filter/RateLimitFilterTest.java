@@ -0,0 +1,98 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.config.RateLimitProperties;
+import com.oddiya.gateway.ratelimit.RateLimitResult;
+import com.oddiya.gateway.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Rule planCreation = new RateLimitProperties.Rule();
+        planCreation.setMethods(List.of("POST"));
+        planCreation.setPaths(List.of("/api/plans", "/api/v1/plans"));
+        planCreation.setCost(20);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(planCreation));
+        filter = new RateLimitFilter(rateLimiter, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFilter_WithPlanCreation_ChargesRuleCost() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/plans"));
+        when(rateLimiter.consume("42", 20)).thenReturn(Mono.just(new RateLimitResult(true, 40, Duration.ZERO)));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(chain).filter(exchange);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("40");
+    }
+
+    @Test
+    void testFilter_WithEmptyBucket_Returns429WithRetryAfter() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/plans/7"));
+        when(rateLimiter.consume("42", 1)).thenReturn(Mono.just(new RateLimitResult(false, 0, Duration.ofMillis(1500))));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    void testFilter_WithoutUserId_SkipsLimiter() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login"));
+        when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verifyNoInteractions(rateLimiter);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.header("X-User-Id", "42"));
+    }
+}
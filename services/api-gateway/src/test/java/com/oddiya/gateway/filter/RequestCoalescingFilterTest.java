@@ -0,0 +1,178 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.config.CoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RequestCoalescingFilterTest {
+
+    private final Route route = Route.async().id("plan-service").uri("http://localhost:8083")
+            .predicate(exchange -> true).build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescingFilter filter;
+    private AtomicInteger upstreamCalls;
+    private Sinks.Empty<Void> upstreamGate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestCoalescingFilter(new CoalescingProperties(), meterRegistry);
+        upstreamCalls = new AtomicInteger();
+        upstreamGate = Sinks.empty();
+    }
+
+    @Test
+    void testFilter_WithConcurrentIdenticalGets_CallsUpstreamOnce() {
+        // Given
+        GatewayFilterChain chain = upstream(HttpStatus.OK, "{\"id\":7}");
+        MockServerWebExchange first = exchange("/api/plans/7", "42");
+        MockServerWebExchange second = exchange("/api/plans/7", "42");
+        MockServerWebExchange third = exchange("/api/plans/7", "42");
+
+        // When
+        Mono<Void> all = Mono.when(filter.filter(first, chain), filter.filter(second, chain), filter.filter(third, chain));
+        StepVerifier.create(all)
+                .then(() -> upstreamGate.tryEmitEmpty())
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(1);
+        for (MockServerWebExchange exchange : new MockServerWebExchange[]{first, second, third}) {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+            StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("{\"id\":7}").verifyComplete();
+        }
+        assertThat(meterRegistry.get("gateway.coalescing.ratio").gauge().value()).isCloseTo(2.0 / 3, within(1e-9));
+        assertThat(meterRegistry.get("gateway.coalescing.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void testFilter_WithDifferentUsers_DoesNotCoalesce() {
+        // Given
+        GatewayFilterChain chain = upstream(HttpStatus.OK, "{}");
+        upstreamGate.tryEmitEmpty();
+
+        // When
+        Mono<Void> both = Mono.when(filter.filter(exchange("/api/plans/7", "42"), chain),
+                filter.filter(exchange("/api/plans/7", "43"), chain));
+
+        // Then
+        StepVerifier.create(both).verifyComplete();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testFilter_WithUnsharedLeaderResponse_WaitersGoUpstream() {
+        // Given
+        GatewayFilterChain chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().getHeaders().add("Set-Cookie", "session=abc");
+            return upstreamGate.asMono().then(write(exchange, HttpStatus.OK, "{}"));
+        };
+
+        // When
+        Mono<Void> both = Mono.when(filter.filter(exchange("/api/plans/7", "42"), chain),
+                filter.filter(exchange("/api/plans/7", "42"), chain));
+        StepVerifier.create(both)
+                .then(() -> upstreamGate.tryEmitEmpty())
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testFilter_WithConditionalLeaderGetting304_PlainFollowerGetsBody() {
+        // Given
+        GatewayFilterChain chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            boolean conditional = exchange.getRequest().getHeaders().getIfNoneMatch().contains("\"v7\"");
+            return upstreamGate.asMono().then(conditional
+                    ? write(exchange, HttpStatus.NOT_MODIFIED, "")
+                    : write(exchange, HttpStatus.OK, "{\"id\":7}"));
+        };
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get("/api/plans/7")
+                .header("X-User-Id", "42")
+                .ifNoneMatch("\"v7\""));
+        conditional.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        MockServerWebExchange plain = exchange("/api/plans/7", "42");
+
+        // When
+        Mono<Void> both = Mono.when(filter.filter(conditional, chain), filter.filter(plain, chain));
+        StepVerifier.create(both)
+                .then(() -> upstreamGate.tryEmitEmpty())
+                .verifyComplete();
+
+        // Then
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(plain.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        StepVerifier.create(plain.getResponse().getBodyAsString()).expectNext("{\"id\":7}").verifyComplete();
+    }
+
+    @Test
+    void testFilter_WithLeaderServerError_WaitersGoUpstream() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return calls.getAndIncrement() == 0
+                    ? upstreamGate.asMono().then(write(exchange, HttpStatus.SERVICE_UNAVAILABLE, "{}"))
+                    : write(exchange, HttpStatus.OK, "{\"id\":7}");
+        };
+        MockServerWebExchange leader = exchange("/api/plans/7", "42");
+        MockServerWebExchange waiter = exchange("/api/plans/7", "42");
+
+        // When
+        Mono<Void> both = Mono.when(filter.filter(leader, chain), filter.filter(waiter, chain));
+        StepVerifier.create(both)
+                .then(() -> upstreamGate.tryEmitEmpty())
+                .verifyComplete();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(leader.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(waiter.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private MockServerWebExchange exchange(String path, String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(path).header("X-User-Id", userId));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return upstreamGate.asMono().then(write(exchange, status, body));
+        };
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String body) {
+        return Mono.defer(() -> {
+            exchange.getResponse().setStatusCode(status);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(
+                    DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.cache.CachedResponse;
+import com.oddiya.gateway.cache.ResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseCacheFilterTest {
+
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private ResponseCacheFilter filter;
+    private final ResponseCache.CompiledGroup plans = mock(ResponseCache.CompiledGroup.class);
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(responseCache);
+        when(responseCache.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void testFilter_WithCachedGet_ServesHitWithoutCallingUpstream() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/plans?page=1"));
+        when(responseCache.groupFor(any())).thenReturn(plans);
+        when(responseCache.get("42", plans, "/api/plans?page=1")).thenReturn(Mono.just(Optional.of(
+                new CachedResponse(System.currentTimeMillis(), "application/json", "[]".getBytes(StandardCharsets.UTF_8)))));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("[]").verifyComplete();
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    void testFilter_WithMissedGet_StoresUpstreamBody() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/users/me"));
+        when(responseCache.groupFor(any())).thenReturn(plans);
+        when(responseCache.get("42", plans, "/api/users/me")).thenReturn(Mono.just(Optional.empty()));
+        when(responseCache.getMaxBodySize()).thenReturn(1024);
+        when(responseCache.put(eq("42"), eq(plans), eq("/api/users/me"), any())).thenReturn(Mono.empty());
+        when(chain.filter(any())).thenAnswer(invocation -> upstream(invocation.getArgument(0), HttpStatus.OK, "{\"id\":42}"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        ArgumentCaptor<CachedResponse> stored = ArgumentCaptor.forClass(CachedResponse.class);
+        verify(responseCache).put(eq("42"), eq(plans), eq("/api/users/me"), stored.capture());
+        assertThat(new String(stored.getValue().getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":42}");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        StepVerifier.create(exchange.getResponse().getBodyAsString()).expectNext("{\"id\":42}").verifyComplete();
+    }
+
+    @Test
+    void testFilter_WithErrorResponse_DoesNotStore() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/plans/7"));
+        when(responseCache.groupFor(any())).thenReturn(plans);
+        when(responseCache.get("42", plans, "/api/plans/7")).thenReturn(Mono.just(Optional.empty()));
+        when(chain.filter(any())).thenAnswer(invocation -> upstream(invocation.getArgument(0), HttpStatus.NOT_FOUND, "{}"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(responseCache, never()).put(anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    void testFilter_WithWrite_EvictsBeforeAndAfterUpstream() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.patch("/api/plans/7"));
+        when(responseCache.groupFor(any())).thenReturn(plans);
+        when(responseCache.evict("42", plans)).thenReturn(Mono.empty());
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(responseCache, times(2)).evict("42", plans);
+        verify(responseCache, never()).get(anyString(), any(), anyString());
+    }
+
+    @Test
+    void testFilter_WithoutUserId_PassesThrough() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/plans"));
+        when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(responseCache, never()).groupFor(any());
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.header("X-User-Id", "42"));
+    }
+
+    private static Mono<Void> upstream(ServerWebExchange exchange, HttpStatus status, String body) {
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return exchange.getResponse().writeWith(Mono.just(
+                DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+}
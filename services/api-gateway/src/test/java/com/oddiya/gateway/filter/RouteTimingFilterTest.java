@@ -0,0 +1,70 @@
+package com.oddiya.gateway.filter;
+
+import com.oddiya.gateway.metrics.ExchangeTiming;
+import com.oddiya.gateway.metrics.RouteLatencyMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTimingFilterTest {
+
+    private final Route route = Route.async().id("plan-service").uri("http://localhost:8083")
+            .predicate(exchange -> true).build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private RouteTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RouteTimingFilter(new RouteLatencyMetrics(meterRegistry));
+    }
+
+    @Test
+    void testFilter_RecordsPhasesReachedByTheExchange() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/plans"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+
+        // When
+        StepVerifier.create(filter.filter(exchange, e -> Mono.deferContextual(context -> {
+            ExchangeTiming timing = ExchangeTiming.from(e);
+            assertThat(ExchangeTiming.from(context)).isSameAs(timing);
+            timing.recordJwt(TimeUnit.MILLISECONDS.toNanos(2));
+            e.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        }))).verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.route.total").tag("route", "plan-service").tag("status", "2xx")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.route.jwt").tag("route", "plan-service").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+        // Never routed upstream, so no connect / first-byte samples
+        assertThat(meterRegistry.find("gateway.route.connect").timer()).isNull();
+        assertThat(meterRegistry.find("gateway.route.first-byte").timer()).isNull();
+    }
+
+    @Test
+    void testFilter_WithoutRoute_DoesNotRecord() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/app"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.find("gateway.route.total").timer()).isNull();
+    }
+}
@@ -0,0 +1,92 @@
+package com.oddiya.gateway.filter.factory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadGatewayFilterFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new BulkheadGatewayFilterFactory(meterRegistry);
+    }
+
+    @Test
+    void testApply_WhenFull_RejectsWith503UntilPermitReleased() {
+        // Given
+        GatewayFilter filter = factory.apply(config("plan-service", 1));
+        Sinks.Empty<Void> upstream = Sinks.empty();
+
+        // When: first request holds the only permit
+        StepVerifier.create(filter.filter(exchange(), e -> upstream.asMono()))
+                .then(() -> {
+                    MockServerWebExchange rejected = exchange();
+                    StepVerifier.create(filter.filter(rejected, e -> Mono.empty())).verifyComplete();
+
+                    // Then
+                    assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                    assertThat(meterRegistry.get("gateway.bulkhead.active").gauge().value()).isEqualTo(1.0);
+                    upstream.tryEmitEmpty();
+                })
+                .verifyComplete();
+
+        MockServerWebExchange admitted = exchange();
+        StepVerifier.create(filter.filter(admitted, e -> Mono.empty())).verifyComplete();
+        assertThat(admitted.getResponse().getStatusCode()).isNull();
+        assertThat(meterRegistry.get("gateway.bulkhead.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testApply_WithSameName_SharesLimitAcrossRoutes() {
+        // Given
+        GatewayFilter planRoute = factory.apply(config("plan-service", 1));
+        GatewayFilter photoRoute = factory.apply(config("plan-service", 1));
+
+        // When
+        StepVerifier.create(planRoute.filter(exchange(), e -> Mono.never())).thenCancel().verify();
+        MockServerWebExchange afterCancel = exchange();
+        StepVerifier.create(photoRoute.filter(afterCancel, e -> Mono.empty())).verifyComplete();
+
+        // Then: cancellation released the shared permit
+        assertThat(afterCancel.getResponse().getStatusCode()).isNull();
+        assertThat(meterRegistry.get("gateway.bulkhead.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void testApply_WithSameNameAndOtherLimit_Throws() {
+        // Given
+        factory.apply(config("plan-service", 100));
+
+        // When & Then
+        assertThatThrownBy(() -> factory.apply(config("plan-service", 20)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("plan-service");
+    }
+
+    private static BulkheadGatewayFilterFactory.Config config(String name, int maxConcurrent) {
+        BulkheadGatewayFilterFactory.Config config = new BulkheadGatewayFilterFactory.Config();
+        config.setName(name);
+        config.setMaxConcurrent(maxConcurrent);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/plans"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.oddiya.gateway.filter.factory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+
+class PrefixRewriteGatewayFilterFactoryTest {
+
+    private final PrefixRewriteGatewayFilterFactory.RewriteTable table =
+            PrefixRewriteGatewayFilterFactory.RewriteTable.compile(List.of("/api/plans", "/api/v1/plans"), "/api/v1/plans");
+
+    @Test
+    void testRewrite_MatchesRegexRewritePath() {
+        assertThat(table.rewrite("/api/plans")).isEqualTo("/api/v1/plans");
+        assertThat(table.rewrite("/api/plans/")).isEqualTo("/api/v1/plans/");
+        assertThat(table.rewrite("/api/plans/42/photos/7")).isEqualTo("/api/v1/plans/42/photos/7");
+        assertThat(table.rewrite("/api/v1/plans/42")).isEqualTo("/api/v1/plans/42");
+    }
+
+    @Test
+    void testRewrite_WithoutSegmentBoundary_DoesNotMatch() {
+        assertThat(table.rewrite("/api/plansx")).isNull();
+        assertThat(table.rewrite("/api/videos/1")).isNull();
+    }
+
+    @Test
+    void testRewrite_WithOverlappingPrefixes_LongestWins() {
+        // Given
+        PrefixRewriteGatewayFilterFactory.RewriteTable overlapping =
+                PrefixRewriteGatewayFilterFactory.RewriteTable.compile(List.of("/api", "/api/profile/"), "/api/v1/profile");
+
+        // Then
+        assertThat(overlapping.rewrite("/api/profile/stats")).isEqualTo("/api/v1/profile/stats");
+        assertThat(overlapping.rewrite("/api/other")).isEqualTo("/api/v1/profile/other");
+    }
+
+    @Test
+    void testFilter_RewritesPathAndKeepsQueryAndOriginalUrl() {
+        // Given
+        PrefixRewriteGatewayFilterFactory.Config config = new PrefixRewriteGatewayFilterFactory.Config();
+        config.setPrefixes(List.of("/api/videos", "/api/v1/videos"));
+        GatewayFilter filter = new PrefixRewriteGatewayFilterFactory().apply(config);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/videos/9?page=2"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        // When
+        StepVerifier.create(filter.filter(exchange, e -> {
+            forwarded.set(e);
+            return Mono.empty();
+        })).verifyComplete();
+
+        // Then
+        URI uri = forwarded.get().getRequest().getURI();
+        assertThat(uri.getRawPath()).isEqualTo("/api/v1/videos/9");
+        assertThat(uri.getRawQuery()).isEqualTo("page=2");
+        LinkedHashSet<URI> original = exchange.getAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        assertThat(original).extracting(URI::getPath).containsExactly("/api/videos/9");
+    }
+}
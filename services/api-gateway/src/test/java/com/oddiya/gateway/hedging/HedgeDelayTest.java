@@ -0,0 +1,52 @@
+package com.oddiya.gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeDelayTest {
+
+    @Test
+    void testCurrent_TracksPercentileWithinBounds() {
+        // Given
+        HedgeDelay delay = new HedgeDelay(20, 0.95, 10, Duration.ofMillis(5), Duration.ofSeconds(1));
+        for (int i = 1; i < 10; i++) {
+            delay.record(Duration.ofMillis(i).toNanos());
+        }
+        assertThat(delay.current()).isEqualTo(Duration.ofSeconds(1));
+
+        // When: 1..20 ms, then a fast run that pushes the percentile under min-delay
+        for (int i = 10; i <= 20; i++) {
+            delay.record(Duration.ofMillis(i).toNanos());
+        }
+        Duration afterRamp = delay.current();
+        for (int i = 0; i < 20; i++) {
+            delay.record(Duration.ofMillis(1).toNanos());
+        }
+
+        // Then
+        assertThat(afterRamp).isEqualTo(Duration.ofMillis(19));
+        assertThat(delay.current()).isEqualTo(Duration.ofMillis(5));
+    }
+
+    @Test
+    void testBudget_AllowsRatioOfRequestsPlusBurst() {
+        // Given
+        HedgeBudget budget = new HedgeBudget(0.05, 2);
+        int hedges = 0;
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+            if (budget.tryWithdraw()) {
+                hedges++;
+            }
+        }
+
+        // Then
+        assertThat(hedges).isEqualTo(50);
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+}
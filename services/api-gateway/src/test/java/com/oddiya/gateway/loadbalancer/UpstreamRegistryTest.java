@@ -0,0 +1,104 @@
+package com.oddiya.gateway.loadbalancer;
+
+import com.oddiya.gateway.config.UpstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamRegistryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UpstreamProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UpstreamProperties();
+        properties.getServices().put("plan-service", List.of("http://plan-1:8083", "http://plan-2:8083"));
+        properties.getEjection().setWindow(4);
+        properties.getEjection().setMinRequests(4);
+        properties.getEjection().setDuration(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testChoose_PrefersInstanceWithFewerInFlight() {
+        // Given
+        UpstreamRegistry registry = new UpstreamRegistry(properties, meterRegistry, now::get);
+        UpstreamInstance busy = instance(registry, "plan-1");
+        registry.start(busy);
+        registry.start(busy);
+
+        // Then: with two instances both strategies always compare the pair
+        for (UpstreamProperties.Strategy strategy : UpstreamProperties.Strategy.values()) {
+            properties.setStrategy(strategy);
+            for (int i = 0; i < 20; i++) {
+                assertThat(registry.choose("plan-service")).get().extracting(UpstreamInstance::getUri)
+                        .hasToString("http://plan-2:8083");
+            }
+        }
+        assertThat(meterRegistry.get("gateway.upstream.in-flight").tag("instance", "plan-1:8083").gauge().value())
+                .isEqualTo(2.0);
+        assertThat(registry.choose("unknown-service")).isEmpty();
+    }
+
+    @Test
+    void testFinish_WithFailureRateOverThreshold_EjectsUntilDurationPasses() {
+        // Given
+        UpstreamRegistry registry = new UpstreamRegistry(properties, meterRegistry, now::get);
+        UpstreamInstance failing = instance(registry, "plan-1");
+
+        // When
+        for (boolean failure : new boolean[]{false, true, false, true}) {
+            registry.start(failing);
+            registry.finish(failing, failure);
+        }
+
+        // Then
+        assertThat(failing.isEjected(now.get())).isTrue();
+        assertThat(meterRegistry.get("gateway.upstream.ejections").tag("instance", "plan-1:8083").counter().count())
+                .isEqualTo(1.0);
+        for (int i = 0; i < 20; i++) {
+            assertThat(registry.choose("plan-service")).get().isNotSameAs(failing);
+        }
+
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(failing.isEjected(now.get())).isFalse();
+    }
+
+    @Test
+    void testInstancesFile_OverridesConfigAndKeepsSurvivingInstances(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("upstreams.yml");
+        Files.writeString(file, "plan-service:\n  - http://plan-2:8083\n  - http://plan-3:8083\n");
+        properties.setInstancesFile(file.toString());
+        UpstreamRegistry registry = new UpstreamRegistry(properties, meterRegistry, now::get);
+        UpstreamInstance survivor = instance(registry, "plan-2");
+
+        // When
+        Files.writeString(file, "plan-service: http://plan-2:8083,http://plan-4:8083\n");
+        registry.update(registry.loadConfigured());
+
+        // Then
+        Map<String, List<UpstreamInstance>> snapshot = registry.snapshot();
+        assertThat(snapshot.get("plan-service")).extracting(i -> i.getUri().getHost()).containsExactly("plan-2", "plan-4");
+        assertThat(snapshot.get("plan-service").get(0)).isSameAs(survivor);
+        assertThat(meterRegistry.find("gateway.upstream.in-flight").tag("instance", "plan-3:8083").gauge()).isNull();
+    }
+
+    private static UpstreamInstance instance(UpstreamRegistry registry, String host) {
+        return registry.snapshot().get("plan-service").stream()
+                .filter(i -> i.getUri().getHost().equals(host))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,67 @@
+package com.oddiya.gateway.route;
+
+import com.oddiya.gateway.security.JwtVerifier;
+import com.oddiya.gateway.security.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routes from application.yml, exercised through the running gateway
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "gateway.revocation.enabled=false",
+                "gateway.rate-limit.enabled=false",
+                "gateway.response-cache.enabled=false"
+        })
+@AutoConfigureWebTestClient
+class InternalRoutesTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtVerifier.verify(anyString())).thenReturn(Mono.just(
+                new VerifiedToken(42L, "42", Instant.now().plusSeconds(3600), "jti-1")));
+    }
+
+    @Test
+    void testUserBatchEndpoint_WithValidToken_IsNotRoutedToUserService() {
+        // When / Then
+        webTestClient.post().uri("/api/v1/users/internal/users/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"ids\":[1,2,3]}")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUserInternalPath_WithUnversionedPrefix_IsNotRoutedToUserService() {
+        // When / Then
+        webTestClient.post().uri("/api/users/internal/users/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"emails\":[\"a@example.com\"]}")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
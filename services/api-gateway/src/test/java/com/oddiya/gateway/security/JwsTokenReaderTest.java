@@ -0,0 +1,157 @@
+package com.oddiya.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwsTokenReaderTest {
+
+    private KeyPair keyPair;
+    private Map<String, PublicKey> keys;
+    private JwsTokenReader reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        keys = Map.of("oddiya-1", keyPair.getPublic());
+        reader = new JwsTokenReader(0);
+    }
+
+    @Test
+    void testRead_WithValidToken_ReturnsClaims() {
+        // Given
+        String token = Jwts.builder()
+                .header().keyId("oddiya-1").and()
+                .claim("userId", 42L)
+                .claim("email", "test@example.com")
+                .subject("test@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+
+        // When
+        VerifiedToken verified = reader.read(token, keys);
+
+        // Then
+        assertThat(verified.getUserId()).isEqualTo(42L);
+        assertThat(verified.getSubject()).isEqualTo("test@example.com");
+        assertThat(verified.getExpiresAt()).isNotNull();
+    }
+
+    @Test
+    void testRead_WithTamperedPayload_Throws() {
+        // Given
+        String token = signedToken(42L);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"userId\":1,\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+        String tampered = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        // When & Then
+        assertThatThrownBy(() -> reader.read(tampered, keys))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void testRead_WithHmacAlgorithm_Throws() {
+        // Given
+        SecretKey secret = Jwts.SIG.HS256.key().build();
+        String token = Jwts.builder()
+                .header().keyId("oddiya-1").and()
+                .claim("userId", 42L)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(secret)
+                .compact();
+
+        // When & Then
+        assertThatThrownBy(() -> reader.read(token, keys))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("HS256");
+    }
+
+    @Test
+    void testRead_WithMalformedToken_Throws() {
+        assertThatThrownBy(() -> reader.read("invalid.token", keys))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> reader.read("a.b.c.d", keys))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> reader.read("invalid.token.here", keys))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void testRead_WithConfiguredEcAndEdDsaAlgorithms_VerifiesBoth() throws Exception {
+        // Given
+        KeyPair ec = p256();
+        KeyPair ed25519 = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        Map<String, PublicKey> mixed = Map.of(
+                "oddiya-1", keyPair.getPublic(), "ec-1", ec.getPublic(), "ed-1", ed25519.getPublic());
+        JwsTokenReader migrating = new JwsTokenReader(0, List.of("RS256", "ES256", "EdDSA"));
+
+        // When & Then
+        assertThat(migrating.read(signedToken("oddiya-1", keyPair, 1L), mixed).getUserId()).isEqualTo(1L);
+        assertThat(migrating.read(signedToken("ec-1", ec, 2L), mixed).getUserId()).isEqualTo(2L);
+        assertThat(migrating.read(signedToken("ed-1", ed25519, 3L), mixed).getUserId()).isEqualTo(3L);
+    }
+
+    @Test
+    void testRead_WithAlgorithmNotConfiguredOrKeyTypeMismatch_Throws() throws Exception {
+        // Given
+        KeyPair ec = p256();
+        String ecToken = signedToken("oddiya-1", ec, 42L);
+        JwsTokenReader migrating = new JwsTokenReader(0, List.of("RS256", "ES256"));
+
+        // When & Then
+        assertThatThrownBy(() -> reader.read(ecToken, keys))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("ES256");
+        // ES256 header, but kid oddiya-1 is an RSA key
+        assertThatThrownBy(() -> migrating.read(ecToken, keys))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void testDigest_WithSameToken_IsStable() {
+        // Given
+        String token = signedToken(42L);
+
+        // When & Then
+        assertThat(JwsTokenReader.digest(token)).isEqualTo(JwsTokenReader.digest(token));
+        assertThat(JwsTokenReader.digest(token)).isNotEqualTo(JwsTokenReader.digest(signedToken(43L)));
+    }
+
+    private static KeyPair p256() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    private String signedToken(Long userId) {
+        return signedToken("oddiya-1", keyPair, userId);
+    }
+
+    private static String signedToken(String kid, KeyPair signer, Long userId) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .claim("userId", userId)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(signer.getPrivate())
+                .compact();
+    }
+}
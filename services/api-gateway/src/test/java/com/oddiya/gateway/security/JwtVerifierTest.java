@@ -0,0 +1,136 @@
+package com.oddiya.gateway.security;
+
+import com.oddiya.gateway.config.JwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtVerifierTest {
+
+    private KeyPair keyPair;
+    private JwksKeyProvider keyProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        Map<String, PublicKey> keys = Map.of("oddiya-1", keyPair.getPublic());
+        keyProvider = mock(JwksKeyProvider.class);
+        when(keyProvider.currentKeys()).thenReturn(keys);
+        when(keyProvider.getKeys()).thenReturn(Mono.just(keys));
+        when(keyProvider.refreshIfAllowed()).thenReturn(Mono.just(keys));
+
+        meterRegistry = new SimpleMeterRegistry();
+        jwtVerifier = new JwtVerifier(keyProvider, new JwtProperties(), meterRegistry);
+    }
+
+    @Test
+    void testVerify_WithValidToken_ReturnsUserId() {
+        // Given
+        String token = token(keyPair, "oddiya-1", 123L, 3600_000);
+
+        // When & Then
+        StepVerifier.create(jwtVerifier.verify(token))
+                .assertNext(verified -> {
+                    assertThat(verified.getUserId()).isEqualTo(123L);
+                    assertThat(verified.getSubject()).isEqualTo("test@example.com");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testVerify_WithSameTokenTwice_VerifiesSignatureOnce() {
+        // Given
+        String token = token(keyPair, "oddiya-1", 1L, 3600_000);
+
+        // When
+        jwtVerifier.verify(token).block();
+        jwtVerifier.verify(token).block();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.jwt.verification").timer().count()).isEqualTo(1);
+        verify(keyProvider, times(1)).getKeys();
+    }
+
+    @Test
+    void testVerify_WithForeignSignature_Fails() throws Exception {
+        // Given
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String token = token(generator.generateKeyPair(), "oddiya-1", 1L, 3600_000);
+
+        // When & Then
+        StepVerifier.create(jwtVerifier.verify(token))
+                .expectError()
+                .verify();
+    }
+
+    @Test
+    void testVerify_WithExpiredToken_Fails() {
+        // Given
+        String token = token(keyPair, "oddiya-1", 1L, -3600_000);
+
+        // When & Then
+        StepVerifier.create(jwtVerifier.verify(token))
+                .expectError()
+                .verify();
+    }
+
+    @Test
+    void testVerify_WithUnknownKeyId_RefreshesKeysOnce() {
+        // Given
+        String token = token(keyPair, "rotated-key", 1L, 3600_000);
+
+        // When & Then
+        StepVerifier.create(jwtVerifier.verify(token))
+                .expectError(UnknownSigningKeyException.class)
+                .verify();
+        verify(keyProvider, times(1)).refreshIfAllowed();
+    }
+
+    @Test
+    void testParseJwkSet_WithRsaKey_ReturnsKeyById() {
+        // Given
+        String json = "{\"keys\":[" + Jwks.json(Jwks.builder()
+                .key((RSAPublicKey) keyPair.getPublic())
+                .id("oddiya-1")
+                .build()) + "]}";
+
+        // When
+        Map<String, PublicKey> keys = JwksKeyProvider.parseJwkSet(json);
+
+        // Then
+        assertThat(keys).containsOnlyKeys("oddiya-1");
+        assertThat(keys.get("oddiya-1")).isEqualTo(keyPair.getPublic());
+    }
+
+    private static String token(KeyPair signingKey, String kid, Long userId, long validityMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .claim("userId", userId)
+                .subject("test@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + validityMillis))
+                .signWith(signingKey.getPrivate())
+                .compact();
+    }
+}
@@ -0,0 +1,92 @@
+package com.oddiya.gateway.security;
+
+import com.oddiya.gateway.config.RevocationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevocationListTest {
+
+    private ReactiveZSetOperations<String, String> zSetOperations;
+    private ReactiveValueOperations<String, String> valueOperations;
+    private RevocationProperties properties;
+    private RevocationList revocationList;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        zSetOperations = mock(ReactiveZSetOperations.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        properties = new RevocationProperties();
+        when(valueOperations.get(properties.getVersionKey())).thenReturn(Mono.just("1"));
+        when(zSetOperations.rangeByScore(anyString(), any())).thenReturn(Flux.just("revoked-jti"));
+        revocationList = new RevocationList(redisTemplate, properties, new SimpleMeterRegistry());
+        revocationList.sync().block();
+    }
+
+    @Test
+    void testIsRevoked_WithUnlistedJti_AnswersFromMemory() {
+        // When & Then
+        StepVerifier.create(revocationList.isRevoked("live-jti")).expectNext(false).verifyComplete();
+        verify(zSetOperations, never()).score(anyString(), any());
+    }
+
+    @Test
+    void testIsRevoked_WithListedJti_ConfirmsInRedisOnce() {
+        // Given
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        when(zSetOperations.score(properties.getKey(), "revoked-jti")).thenReturn(Mono.just((double) expiresAt));
+
+        // When & Then
+        StepVerifier.create(revocationList.isRevoked("revoked-jti")).expectNext(true).verifyComplete();
+        StepVerifier.create(revocationList.isRevoked("revoked-jti")).expectNext(true).verifyComplete();
+        verify(zSetOperations, times(1)).score(properties.getKey(), "revoked-jti");
+    }
+
+    @Test
+    void testIsRevoked_WithBloomHitAndRedisDown_RejectsToken() {
+        // Given
+        when(zSetOperations.score(properties.getKey(), "revoked-jti"))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        // When & Then
+        StepVerifier.create(revocationList.isRevoked("revoked-jti")).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void testBloomFilter_HasNoFalseNegativesAndFewFalsePositives() {
+        // Given
+        List<String> revoked = IntStream.range(0, 10_000).mapToObj(i -> "revoked-" + i).toList();
+        BloomFilter bloom = BloomFilter.of(revoked, 10_000, 0.01);
+
+        // When
+        long falsePositives = IntStream.range(0, 10_000).filter(i -> bloom.mightContain("live-" + i)).count();
+
+        // Then
+        assertThat(revoked).allMatch(bloom::mightContain);
+        assertThat(falsePositives).isLessThan(200);
+    }
+}
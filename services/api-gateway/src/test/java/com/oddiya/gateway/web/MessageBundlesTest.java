@@ -0,0 +1,90 @@
+package com.oddiya.gateway.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oddiya.gateway.config.UIMessages;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageBundlesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UIMessages uiMessages;
+    private MessageBundles bundles;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Bind ui-messages.yml the way spring.config.import does
+        StandardEnvironment environment = new StandardEnvironment();
+        new YamlPropertySourceLoader().load("ui-messages", new ClassPathResource("ui-messages.yml"))
+                .forEach(environment.getPropertySources()::addLast);
+        uiMessages = new Binder(ConfigurationPropertySources.get(environment))
+                .bindOrCreate("ui", UIMessages.class);
+        bundles = new MessageBundles(uiMessages, objectMapper);
+    }
+
+    @Test
+    void testBundle_ContainsEveryKeyForEveryLocale() throws Exception {
+        // When
+        Map<String, String> ko = json(bundles.bundle("ko", null, MockServerHttpRequest.get("/").build()));
+        Map<String, String> en = json(bundles.bundle("en", null, MockServerHttpRequest.get("/").build()));
+
+        // Then
+        assertThat(ko).containsEntry("app.subtitle", "AI 여행 플래너");
+        assertThat(en).containsEntry("app.subtitle", "AI Travel Planner");
+        assertThat(en.keySet()).containsAll(ko.keySet());
+    }
+
+    @Test
+    void testBundle_WithMatchingEtag_ReturnsNotModified() {
+        // Given
+        String etag = bundles.bundle("ko", null, MockServerHttpRequest.get("/").build()).getHeaders().getETag();
+
+        // When
+        ResponseEntity<byte[]> response = bundles.bundle("ko", null,
+                MockServerHttpRequest.get("/").ifNoneMatch(etag).build());
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+    }
+
+    @Test
+    void testBundle_WithCurrentVersion_IsImmutable() {
+        // When
+        ResponseEntity<byte[]> current = bundles.bundle("en", bundles.version("en"), MockServerHttpRequest.get("/").build());
+        ResponseEntity<byte[]> stale = bundles.bundle("en", "000000000000", MockServerHttpRequest.get("/").build());
+
+        // Then
+        assertThat(current.getHeaders().getCacheControl()).contains("immutable");
+        assertThat(stale.getHeaders().getCacheControl()).isEqualTo("no-cache");
+        assertThat(bundles.bundle("fr", null, MockServerHttpRequest.get("/").build()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testNegotiate_UsesAcceptLanguageWithDefaultFallback() {
+        assertThat(bundles.negotiate("en-US,en;q=0.9,ko;q=0.8")).isEqualTo("en");
+        assertThat(bundles.negotiate("ko-KR")).isEqualTo("ko");
+        assertThat(bundles.negotiate("fr-FR")).isEqualTo("ko");
+        assertThat(bundles.negotiate("not a language range;;")).isEqualTo("ko");
+        assertThat(bundles.negotiate(null)).isEqualTo("ko");
+    }
+
+    private Map<String, String> json(ResponseEntity<byte[]> response) throws Exception {
+        return objectMapper.readValue(response.getBody(), new TypeReference<>() {});
+    }
+}
@@ -0,0 +1,92 @@
+package com.oddiya.gateway.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticAssetRegistryTest {
+
+    private static final Pattern SCRIPT_URL = Pattern.compile("<script src=\"/assets/([^\"]+)\"");
+
+    private StaticAssetRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new StaticAssetRegistry();
+    }
+
+    @Test
+    void testPage_ReferencesHashedAssets() {
+        // When
+        ResponseEntity<byte[]> response = registry.page("app/index.html", MockServerHttpRequest.get("/app").build());
+
+        // Then
+        String html = new String(response.getBody(), StandardCharsets.UTF_8);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(html).doesNotContain("{{asset:");
+        assertThat(html).containsPattern("/assets/app/app\\.[0-9a-f]{12}\\.js");
+        assertThat(html).containsPattern("/assets/app/app\\.[0-9a-f]{12}\\.css");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+        assertThat(response.getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    void testPage_WithMatchingEtag_ReturnsNotModified() {
+        // Given
+        String etag = registry.page("mobile/index.html", MockServerHttpRequest.get("/mobile").build())
+                .getHeaders().getETag();
+
+        // When
+        ResponseEntity<byte[]> response = registry.page("mobile/index.html",
+                MockServerHttpRequest.get("/mobile").ifNoneMatch(etag).build());
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void testHashedAsset_WithGzip_ReturnsCompressedImmutableBody() throws Exception {
+        // Given
+        String hashedName = scriptName("app/index.html");
+
+        // When
+        ResponseEntity<byte[]> identity = registry.hashedAsset(hashedName, MockServerHttpRequest.get("/").build());
+        ResponseEntity<byte[]> gzip = registry.hashedAsset(hashedName,
+                MockServerHttpRequest.get("/").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br").build());
+
+        // Then
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getCacheControl()).contains("immutable").contains("max-age=31536000");
+        assertThat(gzip.getHeaders().getETag()).isNotEqualTo(identity.getHeaders().getETag());
+        assertThat(gzip.getBody().length).isLessThan(identity.getBody().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(identity.getBody());
+        }
+    }
+
+    @Test
+    void testHashedAsset_WithUnknownHash_ReturnsNotFound() {
+        assertThat(registry.hashedAsset("app/app.000000000000.js", MockServerHttpRequest.get("/").build())
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private String scriptName(String page) {
+        String html = new String(registry.page(page, MockServerHttpRequest.get("/").build()).getBody(),
+                StandardCharsets.UTF_8);
+        Matcher matcher = SCRIPT_URL.matcher(html);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost in auth-service
+ *
+ * - sign: JwtService.generateToken (RS256 with the active key)
+ * - legacyValidateAndExtract: the old validateToken + extractUserId sequence, three
+ *   parses with a freshly built parser each time
+ * - verify: JwtService.verify, one parse with the shared parser
+ *
+ * Run with ./gradlew jmh; the gc profiler reports gc.alloc.rate.norm (bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private PublicKey publicKey;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        SigningKeyService signingKeys = new SigningKeyService(jwtConfig, null);
+        jwtService = new JwtService(jwtConfig, signingKeys);
+        publicKey = signingKeys.activeKey().getKeyPair().getPublic();
+        token = jwtService.generateToken(123L, "bench@example.com");
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(123L, "bench@example.com");
+    }
+
+    @Benchmark
+    public Long legacyValidateAndExtract() {
+        // validateToken: parse, then isTokenExpired -> extractExpiration parses again
+        legacyParse(token);
+        if (legacyParse(token).getExpiration().before(new Date())) {
+            return null;
+        }
+        // extractUserId: third parse
+        return ((Number) legacyParse(token).get("userId")).longValue();
+    }
+
+    @Benchmark
+    public Long verify() {
+        return jwtService.verify(token).getUserId();
+    }
+
+    private Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(publicKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
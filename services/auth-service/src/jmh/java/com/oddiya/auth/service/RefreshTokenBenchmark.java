@@ -0,0 +1,82 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh throughput per jwt.refresh.mode
+ *
+ * Each thread redeems its own token chain, as one client refreshing over and over would.
+ * Needs a Redis at -Dredis.host / -Dredis.port (default localhost:6379); signed mode only
+ * reads the revocation version there every revocation-sync-interval.
+ * Run with ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RefreshTokenBenchmark {
+
+    private static final String SECRET = "YmVuY2htYXJrLXJlZnJlc2gtdG9rZW4tc2VjcmV0LTMyLWJ5dGVzIQ==";
+
+    @Param({"REDIS", "SIGNED"})
+    public JwtConfig.RefreshMode mode;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RefreshTokenService refreshTokenService;
+
+    @Setup
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"), Integer.getInteger("redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setDefaultSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.getRefresh().setMode(mode);
+        jwtConfig.getRefresh().setSecret(SECRET);
+        refreshTokenService = new RefreshTokenService(redisTemplate, jwtConfig, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        String refreshToken;
+
+        @Setup(Level.Iteration)
+        public void login(RefreshTokenBenchmark benchmark) {
+            refreshToken = benchmark.refreshTokenService.issue(123L);
+        }
+    }
+
+    @Benchmark
+    public Long refresh(Client client) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(client.refreshToken);
+        client.refreshToken = rotation.getRefreshToken();
+        return rotation.getUserId();
+    }
+}
@@ -0,0 +1,52 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import com.oddiya.auth.config.SigningAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify cost per jwt.keys.algorithm
+ *
+ * - sign: JwtService.generateToken (login / refresh path)
+ * - verify: JwtService.verify (gateway-side verification is in the gateway's JwsAlgorithmBenchmark)
+ *
+ * Run with ./gradlew jmh; the gc profiler reports gc.alloc.rate.norm (bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "ED25519"})
+    public SigningAlgorithm algorithm;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.getKeys().setAlgorithm(algorithm);
+        jwtService = new JwtService(jwtConfig, new SigningKeyService(jwtConfig, null));
+        token = jwtService.generateToken(123L, "bench@example.com");
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(123L, "bench@example.com");
+    }
+
+    @Benchmark
+    public Long verify() {
+        return jwtService.verify(token).getUserId();
+    }
+}
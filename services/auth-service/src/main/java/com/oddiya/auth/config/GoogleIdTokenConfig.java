@@ -0,0 +1,38 @@
+package com.oddiya.auth.config;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleOAuthConstants;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Google ID-token verification for mobile sign-in (see GoogleTokenVerificationService)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.google-id-token")
+@Getter
+@Setter
+public class GoogleIdTokenConfig {
+
+    // Google's signing certificates (x509 PEM by key id)
+    private String certsUrl = GoogleOAuthConstants.DEFAULT_PUBLIC_CERTS_ENCODED_URL;
+
+    // Refetch this long before the library would refetch on a request thread
+    private Duration certsRefreshLead = Duration.ofMinutes(1);
+
+    // Wait after a failed prefetch or refresh before trying again
+    private Duration certsRetryInterval = Duration.ofSeconds(30);
+
+    // Connections kept to the certs endpoint
+    private int maxConnections = 4;
+
+    private Duration timeout = Duration.ofSeconds(5);
+
+    // How long a verified token's result is reused; never past the token's own expiry
+    private Duration cacheTtl = Duration.ofMinutes(1);
+
+    private long cacheMaxSize = 10_000;
+}
@@ -5,30 +5,90 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 
 @Configuration
 @ConfigurationProperties(prefix = "jwt")
 @Getter
 @Setter
 public class JwtConfig {
-    
+
     private long accessTokenValidity = 3600;  // 1 hour in seconds
     private long refreshTokenValidity = 1209600;  // 14 days in seconds
-    
-    private KeyPair keyPair;
-    
-    public JwtConfig() {
-        // Generate RSA key pair for RS256
-        try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
-            this.keyPair = keyPairGenerator.generateKeyPair();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Failed to generate RSA key pair", e);
-        }
+
+    private Keys keys = new Keys();
+    private Refresh refresh = new Refresh();
+
+    /**
+     * Where the signing keys come from (see SigningKeyService)
+     */
+    @Getter
+    @Setter
+    public static class Keys {
+
+        // redis: shared by all replicas, rotated automatically; keystore: PKCS12 file, rotated by hand;
+        // ephemeral: generated per boot, single instance only (local development and tests)
+        private Source source = Source.EPHEMERAL;
+
+        // Algorithm for newly generated keys; keys already published keep theirs until they retire
+        private SigningAlgorithm algorithm = SigningAlgorithm.RS256;
+
+        // Redis: hash of kid -> key pair, and how long each key signs before the next takes over
+        private String redisKey = "auth:signing-keys";
+        private Duration rotationInterval = Duration.ofDays(30);
+
+        // Redis: base64 AES key (256 bits), the same on every replica, that encrypts the private
+        // keys in the hash; required for redis, so a Redis dump alone cannot forge tokens
+        private String encryptionKey;
+
+        // Redis: how often the hash is re-read for keys other replicas wrote, and how soon a
+        // token signed with a kid this replica has not loaded may trigger another read
+        private Duration reloadInterval = Duration.ofMinutes(1);
+        private Duration unknownKidReloadInterval = Duration.ofSeconds(5);
+
+        // A key created for a new algorithm is published this long before it signs, so that
+        // gateways (jwks refresh every 10m) already hold it; keep it above jwks-max-age too
+        private Duration publishLead = Duration.ofMinutes(15);
+
+        // Keystore: every key entry is published under its alias; active-kid picks the signer
+        private String keystorePath;
+        private String keystorePassword = "";
+        private String activeKid;
+
+        // Cache-Control max-age on /.well-known/jwks.json
+        private Duration jwksMaxAge = Duration.ofMinutes(10);
     }
-}
 
+    /**
+     * How refresh tokens are kept (see RefreshTokenService)
+     */
+    @Getter
+    @Setter
+    public static class Refresh {
+
+        // redis: opaque tokens rotated in Redis, with reuse detection;
+        // signed: self-contained HS256 tokens, Redis only lists revoked families
+        private RefreshMode mode = RefreshMode.REDIS;
+
+        // Base64 HMAC key (at least 256 bits), the same on every replica. Required for signed;
+        // keep it set after switching back to redis so outstanding signed tokens still redeem
+        private String secret;
+
+        // Signed: how stale this replica's copy of the revoked families may get
+        private Duration revocationSyncInterval = Duration.ofSeconds(5);
+
+        // Signed: families whose last rotation redeemed here is remembered, for reuse detection
+        private long maxTrackedFamilies = 100_000;
+    }
+
+    public enum RefreshMode {
+        REDIS,
+        SIGNED
+    }
+
+    public enum Source {
+        REDIS,
+        KEYSTORE,
+        EPHEMERAL
+    }
+}
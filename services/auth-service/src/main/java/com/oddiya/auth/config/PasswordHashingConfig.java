@@ -0,0 +1,28 @@
+package com.oddiya.auth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Password hashing pool (see PasswordHasher)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Getter
+@Setter
+public class PasswordHashingConfig {
+
+    // Concurrent hashes; 0 = one per available core
+    private int threads = 0;
+
+    // Hashes allowed to wait for a thread; beyond this requests get 503 at once.
+    // 0 = four per thread, which keeps the worst wait to about four hash times
+    private int queueCapacity = 0;
+
+    // Retry-After sent with that 503
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,29 @@
+package com.oddiya.auth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Local cache of user-service lookups (see UserLookupCache)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.user-cache")
+@Getter
+@Setter
+public class UserCacheConfig {
+
+    private boolean enabled = true;
+
+    // Entries, by email and by provider id together
+    private long maximumSize = 10_000;
+
+    // Upper bound on staleness when an invalidation is missed (Redis away, subscriber reconnecting)
+    private Duration ttl = Duration.ofMinutes(10);
+
+    // Redis pub/sub channel user-service publishes changed user ids on
+    private String invalidationChannel = "user-service:user-changed";
+}
@@ -1,20 +1,46 @@
 package com.oddiya.auth.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * Outbound HTTP (user-service, Google)
+ *
+ * Requests run on virtual threads (spring.threads.virtual.enabled), so a slow downstream
+ * parks requests here instead of exhausting a thread pool. The connection pool is then the
+ * limit on concurrent downstream calls: reactor-netty's default (16 connections, 32 waiting)
+ * would fail logins long before the service is busy, so it is sized explicitly.
+ */
 @Configuration
 public class WebClientConfig {
 
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public ConnectionProvider connectionProvider(
+            @Value("${app.http-client.max-connections:500}") int maxConnections,
+            @Value("${app.http-client.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout) {
+        return ConnectionProvider.builder("auth-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)  // bounded by pending-acquire-timeout instead
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public WebClient.Builder webClientBuilder(ConnectionProvider connectionProvider) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)));
     }
-    
+
     @Bean
     public WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+        return builder.clone().build();
     }
 }
-
@@ -1,22 +1,31 @@
 package com.oddiya.auth.controller;
 
 import com.oddiya.auth.dto.*;
+import com.oddiya.auth.exception.InvalidTokenException;
 import com.oddiya.auth.service.AuthService;
+import com.oddiya.auth.service.SigningKeyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
     private final AuthService authService;
 
     @Value("${spring.security.oauth2.client.registration.google.client-id}")
@@ -25,6 +34,9 @@ public class AuthController {
     @Value("${spring.security.oauth2.client.registration.google.redirect-uri:http://localhost:8080/api/v1/auth/oauth/google/callback}")
     private String redirectUri;
 
+    @Value("${jwt.keys.jwks-max-age:10m}")
+    private Duration jwksMaxAge;
+
     // ============================================================================
     // Email/Password Authentication (for Mobile App)
     // ============================================================================
@@ -59,6 +71,21 @@ public class AuthController {
         return ResponseEntity.ok(tokens);
     }
 
+    /**
+     * Logout - revokes the bearer access token (and the refresh token, if sent)
+     * POST /api/v1/auth/logout
+     */
+    @PostMapping("/api/v1/auth/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) LogoutRequest request) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new InvalidTokenException("Missing bearer token");
+        }
+        authService.logout(authorization.substring(7), request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     // ============================================================================
     // OAuth 2.0 Authentication (Google)
     // ============================================================================
@@ -157,13 +184,21 @@ public class AuthController {
     }
 
     /**
-     * JWKS endpoint for public key (RS256)
+     * JWKS endpoint: every published signing key, including the next and previous rotation
+     * Cacheable for jwks-max-age; If-None-Match gets 304 while the key set is unchanged.
      * GET /.well-known/jwks.json
      */
     @GetMapping("/.well-known/jwks.json")
-    public ResponseEntity<String> getJwks() {
-        String jwks = authService.getJwks();
-        return ResponseEntity.ok(jwks);
+    public ResponseEntity<String> getJwks(WebRequest request) {
+        SigningKeyService.JwkSet jwks = authService.getJwks();
+        if (request.checkNotModified(jwks.getEtag())) {
+            return null;  // 304 already written
+        }
+        return ResponseEntity.ok()
+                .contentType(JWK_SET)
+                .cacheControl(CacheControl.maxAge(jwksMaxAge).cachePublic())
+                .eTag(jwks.getEtag())
+                .body(jwks.getJson());
     }
 }
 
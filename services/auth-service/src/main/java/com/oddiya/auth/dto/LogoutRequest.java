@@ -0,0 +1,13 @@
+package com.oddiya.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequest {
+    // Optional: when present the refresh token is invalidated as well
+    private String refreshToken;
+}
@@ -0,0 +1,20 @@
+package com.oddiya.auth.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The password hashing pool and its queue are full; the client should retry later
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(Duration retryAfter) {
+        // No stack trace: thrown at high rates exactly when the CPU is already saturated
+        super("Too many concurrent sign-ins, retry later", null, false, false);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -6,30 +6,28 @@ import com.oddiya.auth.dto.SignupRequest;
 import com.oddiya.auth.dto.TokenResponse;
 import com.oddiya.auth.exception.InvalidTokenException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
-import java.util.concurrent.TimeUnit;
-
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final JwtService jwtService;
     private final JwtConfig jwtConfig;
-    private final RedisTemplate<String, String> redisTemplate;
     private final OAuthService oAuthService;
     private final UserServiceClient userServiceClient;
-    private final PasswordEncoder passwordEncoder;
+    private final UserLookupCache userLookupCache;
+    private final PasswordHasher passwordHasher;
+    private final TokenRevocationService tokenRevocationService;
+    private final SigningKeyService signingKeyService;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Email/Password Signup
      */
     public TokenResponse signup(SignupRequest request) {
         // Hash password
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+        String hashedPassword = passwordHasher.encode(request.getPassword());
 
         // Create user via User Service internal API
         UserServiceClient.UserResponse userResponse = userServiceClient.createUser(
@@ -50,15 +48,18 @@ public class AuthService {
      * Email/Password Login
      */
     public TokenResponse login(LoginRequest request) {
-        // Find user by email
-        UserServiceClient.UserResponse userResponse = userServiceClient.findUserByEmail(request.getEmail());
+        // Shed before the user-service call when hashing is already saturated
+        passwordHasher.checkCapacity();
+
+        // Find user by email (cached)
+        UserServiceClient.UserResponse userResponse = userLookupCache.findUserByEmail(request.getEmail());
 
         if (userResponse == null) {
             throw new InvalidTokenException("Invalid email or password");
         }
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), userResponse.getPasswordHash())) {
+        if (!passwordHasher.matches(request.getPassword(), userResponse.getPasswordHash())) {
             throw new InvalidTokenException("Invalid email or password");
         }
 
@@ -79,8 +80,8 @@ public class AuthService {
         // Get user info from OAuth provider
         OAuthService.GoogleUserInfo userInfo = oAuthService.getUserInfoFromGoogle(accessToken);
 
-        // Create or find user via User Service internal API
-        UserServiceClient.UserResponse userResponse = userServiceClient.createOrFindUser(
+        // Create or find user via User Service internal API (cached for returning users)
+        UserServiceClient.UserResponse userResponse = userLookupCache.createOrFindUser(
             new UserServiceClient.CreateUserRequest(
                 userInfo.getEmail(),
                 userInfo.getName(),
@@ -100,8 +101,8 @@ public class AuthService {
      * OAuth Success Handler (for Spring Security OAuth2 Client)
      */
     public TokenResponse handleOAuthSuccess(String email, String name, String provider, String oauthId) {
-        // Create or find user via User Service internal API
-        UserServiceClient.UserResponse userResponse = userServiceClient.createOrFindUser(
+        // Create or find user via User Service internal API (cached for returning users)
+        UserServiceClient.UserResponse userResponse = userLookupCache.createOrFindUser(
             new UserServiceClient.CreateUserRequest(
                 email,
                 name,
@@ -121,10 +122,7 @@ public class AuthService {
      */
     private TokenResponse generateTokenResponse(Long userId, String email) {
         String jwtAccessToken = jwtService.generateToken(userId, email);
-        String refreshToken = UUID.randomUUID().toString();
-
-        // Store refresh token in Redis
-        storeRefreshToken(refreshToken, userId);
+        String refreshToken = refreshTokenService.issue(userId);
 
         return TokenResponse.builder()
                 .accessToken(jwtAccessToken)
@@ -136,39 +134,31 @@ public class AuthService {
     }
 
     public TokenResponse refreshToken(String refreshToken) {
-        // Check if refresh token exists in Redis
-        String userIdStr = redisTemplate.opsForValue().get("refresh_token:" + refreshToken);
-        
-        if (userIdStr == null) {
-            throw new com.oddiya.auth.exception.InvalidTokenException("Invalid refresh token");
-        }
-        
-        Long userId = Long.parseLong(userIdStr);
-        
+        // Redeems the token once; a reused token revokes its family and is rejected
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
         // Generate new access token (mock email for now)
-        String accessToken = jwtService.generateToken(userId, "user@example.com");
-        
-        // Optionally rotate refresh token
-        String newRefreshToken = UUID.randomUUID().toString();
-        storeRefreshToken(newRefreshToken, userId);
-        redisTemplate.delete("refresh_token:" + refreshToken);
-        
+        String accessToken = jwtService.generateToken(rotation.getUserId(), "user@example.com");
+
         return TokenResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(newRefreshToken)
+                .refreshToken(rotation.getRefreshToken())
                 .tokenType("Bearer")
                 .expiresIn(jwtConfig.getAccessTokenValidity())
                 .build();
     }
 
-    public String getJwks() {
-        return jwtService.getPublicKeyAsJwk();
+    /**
+     * Logout: revoke the access token and, if one is given, the refresh token's family
+     */
+    public void logout(String accessToken, String refreshToken) {
+        tokenRevocationService.revoke(accessToken);
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 
-    private void storeRefreshToken(String refreshToken, Long userId) {
-        String key = "refresh_token:" + refreshToken;
-        redisTemplate.opsForValue().set(key, userId.toString(), 
-            jwtConfig.getRefreshTokenValidity(), TimeUnit.SECONDS);
+    public SigningKeyService.JwkSet getJwks() {
+        return signingKeyService.jwks();
     }
 }
-
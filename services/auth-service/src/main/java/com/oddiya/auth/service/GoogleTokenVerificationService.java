@@ -1,37 +1,112 @@
 package com.oddiya.auth.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken.Payload;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import com.oddiya.auth.config.GoogleIdTokenConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for verifying Google ID Tokens from mobile apps
  * Used when mobile apps use Google Sign-In SDK
+ *
+ * Google's signing certs are fetched at startup and refetched in the background before
+ * they expire, each time into a fresh key manager that then replaces the current one:
+ * the library's own refresh holds the lock every verification takes, so a fetch on its
+ * schedule stalls sign-ins. Should the background fetch keep failing, the library still
+ * refetches on a request as before. Results are cached by token digest for cache-ttl
+ * (never past the token's expiry), so a client retrying with the same token is not
+ * verified twice.
+ * Metrics:
+ * - auth.google.id-token.verification {result=valid|invalid|error}: on cache misses
+ * - cache.* {cache=auth.google.id-tokens}: hit/miss/eviction counts
  */
 @Slf4j
 @Service
 public class GoogleTokenVerificationService {
 
-    @Value("${spring.security.oauth2.client.registration.google.client-id}")
-    private String googleClientId;
+    static final String CACHE_NAME = "auth.google.id-tokens";
 
-    private final com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier verifier;
+    // GooglePublicKeysManager refetches once a request comes within this of the certs' expiry
+    private static final long LIBRARY_REFRESH_SKEW_MILLIS = TimeUnit.MINUTES.toMillis(5);
 
-    public GoogleTokenVerificationService(@Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId) {
-        this.verifier = new com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                new GsonFactory()
-        )
-        .setAudience(Collections.singletonList(clientId))
-        .build();
+    private final String clientId;
+    private final GoogleIdTokenConfig config;
+    private final ApacheHttpTransport transport;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("google-certs-"));
+    private final Cache<String, GoogleUserInfo> verifiedTokens;
+    private final Timer valid;
+    private final Timer invalid;
+    private final Timer failed;
+
+    private volatile GoogleIdTokenVerifier verifier;
+
+    public GoogleTokenVerificationService(@Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId,
+                                          GoogleIdTokenConfig config, MeterRegistry meterRegistry) {
+        this.clientId = clientId;
+        this.config = config;
+        int timeoutMillis = (int) config.getTimeout().toMillis();
+        this.transport = new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClientBuilder()
+                .setMaxConnTotal(config.getMaxConnections())
+                .setMaxConnPerRoute(config.getMaxConnections())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(timeoutMillis)
+                        .setConnectionRequestTimeout(timeoutMillis)
+                        .setSocketTimeout(timeoutMillis)
+                        .build())
+                .build());
+        // Certs load on first use until the prefetch lands
+        this.verifier = verifier(keysManager());
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(config.getCacheMaxSize())
+                .expireAfter(new UntilTokenExpiry(config.getCacheTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+        this.valid = verification(meterRegistry, "valid");
+        this.invalid = verification(meterRegistry, "invalid");
+        this.failed = verification(meterRegistry, "error");
+    }
+
+    @PostConstruct
+    void prefetchCerts() {
+        scheduler.execute(this::refreshInBackground);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        scheduler.shutdownNow();
+        transport.shutdown();
     }
 
     /**
@@ -42,30 +117,124 @@ public class GoogleTokenVerificationService {
      * @throws RuntimeException if token is invalid
      */
     public GoogleUserInfo verifyIdToken(String idTokenString) {
+        String digest = digest(idTokenString);
+        GoogleUserInfo cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Timer.Sample sample = Timer.start();
+        GoogleIdToken idToken;
         try {
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+            idToken = verifier.verify(idTokenString);
+        } catch (Exception e) {
+            sample.stop(failed);
+            log.error("Failed to verify Google ID Token", e);
+            throw new RuntimeException("Failed to verify Google ID Token", e);
+        }
 
-            if (idToken == null) {
-                log.error("Invalid Google ID Token");
-                throw new RuntimeException("Invalid Google ID Token");
-            }
+        if (idToken == null) {
+            sample.stop(invalid);
+            log.error("Invalid Google ID Token");
+            throw new RuntimeException("Invalid Google ID Token");
+        }
+        sample.stop(valid);
 
-            Payload payload = idToken.getPayload();
+        Payload payload = idToken.getPayload();
 
-            GoogleUserInfo userInfo = new GoogleUserInfo();
-            userInfo.setSub(payload.getSubject());
-            userInfo.setEmail(payload.getEmail());
-            userInfo.setName((String) payload.get("name"));
-            userInfo.setPicture((String) payload.get("picture"));
-            userInfo.setEmailVerified(payload.getEmailVerified());
+        GoogleUserInfo userInfo = new GoogleUserInfo();
+        userInfo.setSub(payload.getSubject());
+        userInfo.setEmail(payload.getEmail());
+        userInfo.setName((String) payload.get("name"));
+        userInfo.setPicture((String) payload.get("picture"));
+        userInfo.setEmailVerified(payload.getEmailVerified());
+        userInfo.setExpiresAtMillis(payload.getExpirationTimeSeconds() * 1000);
 
-            log.info("Verified Google ID Token for user: {}", userInfo.getEmail());
+        log.info("Verified Google ID Token for user: {}", userInfo.getEmail());
 
-            return userInfo;
+        verifiedTokens.put(digest, userInfo);
+        return userInfo;
+    }
 
+    /**
+     * Fetch certs into a fresh key manager and switch verification over to it
+     * Returns when the certs will need fetching again, in epoch milliseconds.
+     */
+    long refreshCerts() throws GeneralSecurityException, IOException {
+        GooglePublicKeysManager keys = keysManager();
+        keys.refresh();
+        verifier = verifier(keys);
+        return keys.getExpirationTimeMilliseconds() - LIBRARY_REFRESH_SKEW_MILLIS;
+    }
+
+    private void refreshInBackground() {
+        long delayMillis;
+        try {
+            long dueAt = refreshCerts();
+            delayMillis = Math.max(dueAt - config.getCertsRefreshLead().toMillis() - System.currentTimeMillis(),
+                    config.getCertsRetryInterval().toMillis());
+            log.debug("Fetched Google signing certs; next fetch in {}s", delayMillis / 1000);
         } catch (Exception e) {
-            log.error("Failed to verify Google ID Token", e);
-            throw new RuntimeException("Failed to verify Google ID Token", e);
+            delayMillis = config.getCertsRetryInterval().toMillis();
+            log.warn("Failed to fetch Google signing certs, retrying in {}s: {}", delayMillis / 1000, e.getMessage());
+        }
+        scheduler.schedule(this::refreshInBackground, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private GooglePublicKeysManager keysManager() {
+        return new GooglePublicKeysManager.Builder(transport, GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(config.getCertsUrl())
+                .build();
+    }
+
+    private GoogleIdTokenVerifier verifier(GooglePublicKeysManager keys) {
+        return new GoogleIdTokenVerifier.Builder(keys)
+                .setAudience(Collections.singletonList(clientId))
+                .build();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Timer verification(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.google.id-token.verification")
+                .description("Google ID-token verification latency on cache misses")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Keeps a verified token for the configured TTL or until it expires, whichever is sooner
+     */
+    private static class UntilTokenExpiry implements Expiry<String, GoogleUserInfo> {
+
+        private final long ttlNanos;
+
+        UntilTokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, GoogleUserInfo value, long currentTime) {
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(value.getExpiresAtMillis() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, GoogleUserInfo value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, GoogleUserInfo value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 
@@ -76,5 +245,6 @@ public class GoogleTokenVerificationService {
         private String name;
         private String picture;
         private Boolean emailVerified;
+        private long expiresAtMillis;  // Token expiry, bounds how long the result is cached
     }
 }
@@ -2,22 +2,42 @@ package com.oddiya.auth.service;
 
 import com.oddiya.auth.config.JwtConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.ProtectedHeader;
 import org.springframework.stereotype.Service;
 
-import java.security.KeyPair;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private final JwtConfig jwtConfig;
+    private final SigningKeyService signingKeys;
+
+    // Immutable and thread-safe, so built once; the verification key is looked up by kid per token
+    private final JwtParser parser;
+
+    public JwtService(JwtConfig jwtConfig, SigningKeyService signingKeys) {
+        this.jwtConfig = jwtConfig;
+        this.signingKeys = signingKeys;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return signingKeys.publicKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(Long userId, String email) {
         Map<String, Object> claims = new HashMap<>();
@@ -27,39 +47,53 @@ public class JwtService {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        KeyPair keyPair = jwtConfig.getKeyPair();
+        SigningKey key = signingKeys.activeKey();
         long now = System.currentTimeMillis();
         Date expiration = new Date(now + jwtConfig.getAccessTokenValidity() * 1000);
 
         return Jwts.builder()
+                .header().keyId(key.getKid()).and()
                 .setClaims(claims)
                 .setSubject(subject)
+                .id(UUID.randomUUID().toString())  // jti, the handle used to revoke this token
                 .setIssuedAt(new Date(now))
                 .setExpiration(expiration)
-                .signWith(keyPair.getPrivate())
+                .signWith(key.getKeyPair().getPrivate(), key.getAlgorithm().getJwsAlgorithm())
                 .compact();
     }
 
+    /**
+     * Verify signature and expiry and return the claims, parsing the token once
+     * Throws ExpiredJwtException for expired tokens and JwtException for any other failure.
+     */
+    public VerifiedClaims verify(String token) {
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT has no expiration");
+        }
+        Object userId = claims.get("userId");
+        return new VerifiedClaims(
+                userId instanceof Number ? ((Number) userId).longValue() : null,
+                claims.getSubject(),
+                claims.getId(),
+                claims.getExpiration().toInstant());
+    }
+
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
+            verify(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        Object userId = claims.get("userId");
-        if (userId instanceof Number) {
-            return ((Number) userId).longValue();
-        }
-        return null;
+        return verify(token).getUserId();
     }
 
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getEmail();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -68,26 +102,6 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        KeyPair keyPair = jwtConfig.getKeyPair();
-        return Jwts.parser()
-                .verifyWith(keyPair.getPublic())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public String getPublicKeyAsJwk() {
-        // Simple JWK representation for /.well-known/jwks.json
-        // In production, use proper JWK format
-        return String.format("{\"kty\":\"RSA\",\"use\":\"sig\",\"kid\":\"oddiya-1\"}");
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
-
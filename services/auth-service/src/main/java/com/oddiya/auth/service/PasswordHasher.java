@@ -0,0 +1,127 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.PasswordHashingConfig;
+import com.oddiya.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated pool sized to the CPU
+ *
+ * BCrypt is slow on purpose. Run on request threads, a login burst takes every core and
+ * starves requests that do no hashing (refresh, JWKS). Here at most `threads` hashes run at
+ * once and at most queue-capacity wait; past that the request fails at once with 503 and
+ * Retry-After rather than queueing behind work its client will have given up on.
+ * Metrics:
+ * - auth.password-hash.queue-depth (gauge)
+ * - auth.password-hash.wait: time queued before a thread picked the hash up
+ * - auth.password-hash.duration {operation=encode|matches}
+ * - auth.password-hash.rejected
+ */
+@Service
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer wait;
+    private final Timer encodeDuration;
+    private final Timer matchesDuration;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, PasswordHashingConfig config, MeterRegistry meterRegistry) {
+        int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = config.getQueueCapacity() > 0 ? config.getQueueCapacity() : threads * 4;
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = config.getRetryAfter();
+
+        Gauge.builder("auth.password-hash.queue-depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        this.wait = Timer.builder("auth.password-hash.wait")
+                .description("Time a password hash waited for a thread")
+                .register(meterRegistry);
+        this.encodeDuration = duration(meterRegistry, "encode");
+        this.matchesDuration = duration(meterRegistry, "matches");
+        this.rejected = Counter.builder("auth.password-hash.rejected")
+                .description("Password hashes refused because the pool and its queue were full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reject now if a hash submitted now would be; lets callers skip work leading up to one
+     * The later encode/matches can still be rejected if others filled the queue meanwhile.
+     */
+    public void checkCapacity() {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfter);
+        }
+    }
+
+    public String encode(String rawPassword) {
+        return run(encodeDuration, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchesDuration, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(Timer duration, Supplier<T> hash) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                wait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return duration.record(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfter);
+        }
+
+        // The caller is a virtual thread (spring.threads.virtual.enabled), so waiting is cheap
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static Timer duration(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password-hash.duration")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,234 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import com.oddiya.auth.exception.InvalidTokenException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Refresh tokens, rotated on every use
+ *
+ * jwt.refresh.mode picks how new tokens are kept; tokens already out are redeemed by their
+ * shape, so switching modes does not log anyone out.
+ *
+ * redis: a token is "{family}.{secret}". Every login starts a family; each refresh replaces the
+ * family's current token in one Lua script (scripts/rotate_refresh_token.lua), so a token
+ * can be redeemed once and a refresh costs one Redis round trip. Presenting a token that
+ * was already rotated means it was copied: the whole family is revoked and its holder has
+ * to log in again. Tokens issued before families existed (plain UUIDs) are accepted once
+ * and continue as a new family.
+ *
+ * signed: a token is an HS256 JWT carrying user, family and rotation counter (see
+ * SignedRefreshTokens). Login and refresh touch Redis only to sync revoked families,
+ * at most every revocation-sync-interval. Reuse is detected only on a replica that redeemed
+ * a later token of the family; it revokes the family as in redis mode.
+ * Metrics:
+ * - auth.refresh.duration {result=rotated|unknown|reused|revoked|error}
+ * - auth.refresh.reuse-detected
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    static final String TOKEN_PREFIX = "refresh_token:";
+    static final String FAMILY_PREFIX = "refresh_family:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE =
+            RedisScript.of(new ClassPathResource("scripts/rotate_refresh_token.lua"), List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JwtConfig jwtConfig;
+    private final SignedRefreshTokens signed;  // null without jwt.refresh.secret
+    private final Counter reuseDetected;
+    private final Timer rotated;
+    private final Timer unknown;
+    private final Timer reused;
+    private final Timer revoked;
+    private final Timer failed;
+
+    public RefreshTokenService(RedisTemplate<String, String> redisTemplate, JwtConfig jwtConfig,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.jwtConfig = jwtConfig;
+        JwtConfig.Refresh refresh = jwtConfig.getRefresh();
+        // Also with mode redis if a secret is set, so signed tokens still redeem after switching back
+        this.signed = refresh.getMode() == JwtConfig.RefreshMode.SIGNED || StringUtils.hasText(refresh.getSecret())
+                ? new SignedRefreshTokens(redisTemplate, jwtConfig)
+                : null;
+        this.reuseDetected = Counter.builder("auth.refresh.reuse-detected")
+                .description("Refresh tokens presented again after rotation; their family was revoked")
+                .register(meterRegistry);
+        this.rotated = duration(meterRegistry, "rotated");
+        this.unknown = duration(meterRegistry, "unknown");
+        this.reused = duration(meterRegistry, "reused");
+        this.revoked = duration(meterRegistry, "revoked");
+        this.failed = duration(meterRegistry, "error");
+    }
+
+    /**
+     * Start a new family for a fresh login
+     */
+    public String issue(Long userId) {
+        String family = UUID.randomUUID().toString();
+        if (jwtConfig.getRefresh().getMode() == JwtConfig.RefreshMode.SIGNED) {
+            return signed.issue(userId, family, 0);
+        }
+
+        String token = newToken(family);
+        Duration ttl = Duration.ofSeconds(jwtConfig.getRefreshTokenValidity());
+
+        // Both writes in one round trip
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                redis.opsForValue().set(TOKEN_PREFIX + token, userId.toString(), ttl);
+                redis.opsForValue().set(FAMILY_PREFIX + family, token, ttl);
+                return null;
+            }
+        });
+        return token;
+    }
+
+    /**
+     * Redeem a refresh token for its successor
+     * Throws InvalidTokenException if the token is unknown, expired, reused or revoked.
+     */
+    public Rotation rotate(String refreshToken) {
+        Timer.Sample sample = Timer.start();
+        if (SignedRefreshTokens.isSigned(refreshToken)) {
+            return rotateSigned(refreshToken, sample);
+        }
+
+        String family = familyOf(refreshToken);
+        boolean legacy = family == null;
+        if (legacy) {
+            family = UUID.randomUUID().toString();
+        }
+        String replacement = newToken(family);
+
+        List<?> reply;
+        try {
+            reply = redisTemplate.execute(ROTATE,
+                    List.of(TOKEN_PREFIX + refreshToken, FAMILY_PREFIX + family, TOKEN_PREFIX + replacement),
+                    refreshToken, replacement, String.valueOf(jwtConfig.getRefreshTokenValidity()), legacy ? "1" : "0");
+        } catch (DataAccessException e) {
+            sample.stop(failed);
+            throw e;
+        }
+
+        int result = ((Number) reply.get(0)).intValue();
+        Timer timer = switch (result) {
+            case 1 -> rotated;
+            case -1 -> reused;
+            case -2 -> revoked;
+            default -> unknown;
+        };
+        sample.stop(timer);
+
+        if (result == 1) {
+            return new Rotation(Long.parseLong((String) reply.get(1)), replacement);
+        }
+        if (result == -1) {
+            reuseDetected.increment();
+            log.warn("Refresh token reuse detected for userId {}; revoked token family {}", reply.get(1), family);
+        }
+        throw new InvalidTokenException("Invalid refresh token");
+    }
+
+    private Rotation rotateSigned(String refreshToken, Timer.Sample sample) {
+        SignedRefreshTokens.Token token;
+        try {
+            if (signed == null) {
+                throw new MalformedJwtException("Signed refresh token but no jwt.refresh.secret");
+            }
+            token = signed.parse(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            sample.stop(unknown);
+            throw new InvalidTokenException("Invalid refresh token", e);
+        }
+
+        if (signed.isRevoked(token.getFamily())) {
+            sample.stop(revoked);
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        if (!signed.markRedeemed(token)) {
+            try {
+                signed.revoke(token.getFamily());
+            } catch (DataAccessException e) {
+                // Still revoked on this replica; others accept the family until it expires
+                log.warn("Failed to publish revocation of token family {}: {}", token.getFamily(), e.getMessage());
+            }
+            sample.stop(reused);
+            reuseDetected.increment();
+            log.warn("Refresh token reuse detected for userId {}; revoked token family {}", token.getUserId(), token.getFamily());
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        String replacement = signed.issue(token.getUserId(), token.getFamily(), token.getRotation() + 1);
+        sample.stop(rotated);
+        return new Rotation(token.getUserId(), replacement);
+    }
+
+    /**
+     * Revoke the token's whole family (logout)
+     */
+    public void revoke(String refreshToken) {
+        if (SignedRefreshTokens.isSigned(refreshToken)) {
+            if (signed == null) {
+                return;
+            }
+            try {
+                signed.revoke(signed.parse(refreshToken).getFamily());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Not revoking invalid refresh token: {}", e.getMessage());
+            }
+            return;
+        }
+
+        String family = familyOf(refreshToken);
+        redisTemplate.delete(family != null
+                ? List.of(TOKEN_PREFIX + refreshToken, FAMILY_PREFIX + family)
+                : List.of(TOKEN_PREFIX + refreshToken));
+    }
+
+    // null for tokens issued before families
+    static String familyOf(String refreshToken) {
+        int dot = refreshToken.indexOf('.');
+        return dot > 0 ? refreshToken.substring(0, dot) : null;
+    }
+
+    private static String newToken(String family) {
+        return family + "." + UUID.randomUUID();
+    }
+
+    private static Timer duration(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.refresh.duration")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Value
+    public static class Rotation {
+        Long userId;
+        String refreshToken;
+    }
+}
@@ -0,0 +1,185 @@
+package com.oddiya.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oddiya.auth.config.JwtConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Self-contained refresh tokens: HS256 JWTs carrying user, family and rotation counter
+ *
+ * The HMAC secret is never published, so the gateway, which trusts only JWKS keys, cannot
+ * take one for an access token. Redeeming a token needs no Redis round trip: revoked
+ * families are mirrored locally and re-read at most every revocation-sync-interval, and
+ * only when their version counter moved. A family revoked on another replica is accepted
+ * here until the next sync.
+ * Each replica also remembers the highest rotation it redeemed per family (up to
+ * max-tracked-families, for the token validity), and a token at or below it is a reuse.
+ * That is per replica: a spent token presented to a replica that never saw its family's later
+ * rotations is still accepted. The redis mode detects every reuse.
+ */
+@Slf4j
+class SignedRefreshTokens {
+
+    static final String REVOKED_KEY = "auth:revoked-refresh-families";
+    static final String VERSION_KEY = "auth:revoked-refresh-families:version";
+
+    private static final String FAMILY_CLAIM = "fam";
+    private static final String ROTATION_CLAIM = "rot";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration validity;
+    private final Duration syncInterval;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Cache<String, Integer> redeemedRotations;
+
+    private volatile Set<String> revokedFamilies = Set.of();
+    private volatile String version;
+    private volatile long nextSyncNanos = System.nanoTime();
+
+    SignedRefreshTokens(RedisTemplate<String, String> redisTemplate, JwtConfig jwtConfig) {
+        JwtConfig.Refresh config = jwtConfig.getRefresh();
+        if (config.getSecret() == null || config.getSecret().isBlank()) {
+            throw new IllegalStateException("jwt.refresh.secret is required for signed refresh tokens");
+        }
+        this.redisTemplate = redisTemplate;
+        this.validity = Duration.ofSeconds(jwtConfig.getRefreshTokenValidity());
+        this.syncInterval = config.getRevocationSyncInterval();
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(config.getSecret()));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.redeemedRotations = Caffeine.newBuilder()
+                .maximumSize(config.getMaxTrackedFamilies())
+                .expireAfterWrite(validity)
+                .build();
+    }
+
+    /**
+     * Signed refresh tokens are compact JWTs; Redis ones have at most one '.'
+     */
+    static boolean isSigned(String token) {
+        int first = token.indexOf('.');
+        return first > 0 && token.indexOf('.', first + 1) > first;
+    }
+
+    String issue(Long userId, String family, int rotation) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(userId.toString())
+                .claim(FAMILY_CLAIM, family)
+                .claim(ROTATION_CLAIM, rotation)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(validity)))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * Verify signature and expiry
+     * Throws JwtException (or IllegalArgumentException) for anything else.
+     */
+    Token parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String family = claims.get(FAMILY_CLAIM, String.class);
+        Integer rotation = claims.get(ROTATION_CLAIM, Integer.class);
+        if (family == null || rotation == null || claims.getSubject() == null) {
+            throw new MalformedJwtException("Refresh token without family or rotation");
+        }
+        return new Token(Long.parseLong(claims.getSubject()), family, rotation);
+    }
+
+    boolean isRevoked(String family) {
+        syncIfDue();
+        return revokedFamilies.contains(family);
+    }
+
+    /**
+     * Record the token as redeemed on this replica
+     *
+     * @return false if this replica already redeemed a token of the family at this or a later rotation
+     */
+    boolean markRedeemed(Token token) {
+        AtomicBoolean first = new AtomicBoolean();
+        redeemedRotations.asMap().compute(token.getFamily(), (family, highest) -> {
+            first.set(highest == null || token.getRotation() > highest);
+            return first.get() ? token.getRotation() : highest;
+        });
+        return first.get();
+    }
+
+    /**
+     * Revoke every token of the family, here at once and on other replicas after their next sync
+     */
+    void revoke(String family) {
+        // No token of the family can outlive this, however recently it was rotated
+        long expiresAt = Instant.now().plus(validity).toEpochMilli();
+        long now = System.currentTimeMillis();
+        Set<String> updated = new HashSet<>(revokedFamilies);
+        updated.add(family);
+        revokedFamilies = Set.copyOf(updated);
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                redis.opsForZSet().add(REVOKED_KEY, family, expiresAt);
+                redis.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, now);
+                redis.opsForValue().increment(VERSION_KEY);
+                return null;
+            }
+        });
+    }
+
+    private void syncIfDue() {
+        long now = System.nanoTime();
+        // One caller syncs; everyone else keeps using the current copy meanwhile
+        if (now - nextSyncNanos < 0 || !syncLock.tryLock()) {
+            return;
+        }
+        try {
+            nextSyncNanos = now + syncInterval.toNanos();
+            String current = redisTemplate.opsForValue().get(VERSION_KEY);
+            if (current == null || current.equals(version)) {
+                return;
+            }
+            Set<String> families = redisTemplate.opsForZSet()
+                    .rangeByScore(REVOKED_KEY, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            revokedFamilies = families != null ? Set.copyOf(families) : Set.of();
+            version = current;
+            log.debug("Synced revoked refresh-token families version {} ({} families)", current, revokedFamilies.size());
+        } catch (RuntimeException e) {
+            // Keep the last copy: refreshes should not fail because Redis is briefly away
+            log.warn("Failed to sync revoked refresh-token families: {}", e.getMessage());
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Value
+    static class Token {
+        Long userId;
+        String family;
+        int rotation;
+    }
+}
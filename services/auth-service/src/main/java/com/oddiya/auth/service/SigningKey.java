@@ -0,0 +1,25 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.SigningAlgorithm;
+import lombok.Value;
+
+import java.security.KeyPair;
+import java.time.Instant;
+
+/**
+ * A token signing key pair and the key id (kid) it is published under
+ */
+@Value
+public class SigningKey {
+    String kid;
+    KeyPair keyPair;
+    SigningAlgorithm algorithm;
+    Instant createdAt;  // when it was first published; EPOCH if unknown
+
+    public SigningKey(String kid, KeyPair keyPair, Instant createdAt) {
+        this.kid = kid;
+        this.keyPair = keyPair;
+        this.algorithm = SigningAlgorithm.of(keyPair.getPublic());
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,398 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import com.oddiya.auth.config.SigningAlgorithm;
+import io.jsonwebtoken.security.Jwks;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Token signing keys and the JWKS that publishes them
+ *
+ * Keys are loaded on first use, never in the constructor, so a booting instance does not
+ * pay for key generation. With the redis source every replica shares one key per rotation
+ * period and algorithm, stored under kid "oddiya-{period}-{alg}"; the next period's key is created
+ * (first writer wins) and published a full period before it signs anything, and the
+ * previous one stays published so tokens it signed verify until they expire.
+ * Switching jwt.keys.algorithm publishes a key of the new type at once but signs with it
+ * only after publish-lead, so verifiers never see a kid they could not have fetched.
+ * Each replica re-reads the hash every reload-interval, and at once (at most every
+ * unknown-kid-reload-interval) when asked for one of our kids it has not loaded, so a key
+ * another replica just wrote verifies here too. Private keys are stored AES-GCM encrypted
+ * under jwt.keys.encryption-key, with the rest of the entry and the kid as associated data,
+ * so neither reading the hash nor rewriting it yields a key that signs or verifies.
+ * The keystore source publishes every key entry and signs with active-kid; rotating is
+ * adding an entry, then switching active-kid, then removing the old entry.
+ */
+@Slf4j
+@Service
+public class SigningKeyService {
+
+    static final String KID_PREFIX = "oddiya-";
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    private static final String KEY_CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final JwtConfig.Keys config;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Clock clock;
+    private final SecretKey encryptionKey;
+    // Not a monitor: the load does Redis I/O, which would pin a virtual thread's carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile KeySet keySet;
+    private volatile Instant unknownKidReloadedAt = Instant.MIN;
+
+    @Autowired
+    public SigningKeyService(JwtConfig jwtConfig, RedisTemplate<String, String> redisTemplate) {
+        this(jwtConfig, redisTemplate, Clock.systemUTC());
+    }
+
+    SigningKeyService(JwtConfig jwtConfig, RedisTemplate<String, String> redisTemplate, Clock clock) {
+        this.config = jwtConfig.getKeys();
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.encryptionKey = config.getSource() == JwtConfig.Source.REDIS ? encryptionKey(config) : null;
+    }
+
+    private static SecretKey encryptionKey(JwtConfig.Keys config) {
+        if (config.getEncryptionKey() == null || config.getEncryptionKey().isBlank()) {
+            throw new IllegalStateException("jwt.keys.encryption-key is required for the redis key source");
+        }
+        byte[] key = Base64.getDecoder().decode(config.getEncryptionKey());
+        if (key.length != 32) {
+            throw new IllegalStateException("jwt.keys.encryption-key must be 256 bits, got " + key.length * 8);
+        }
+        return new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * Key new tokens are signed with
+     */
+    public SigningKey activeKey() {
+        return keys().getActive();
+    }
+
+    /**
+     * Verification key for a kid, or null if it is not (or no longer) published
+     */
+    public PublicKey publicKey(String kid) {
+        SigningKey key = keys().getByKid().get(kid);
+        if (key == null && config.getSource() == JwtConfig.Source.REDIS && kid != null && kid.startsWith(KID_PREFIX)) {
+            key = reloadForUnknownKid(kid);
+        }
+        return key != null ? key.getKeyPair().getPublic() : null;
+    }
+
+    /**
+     * Published keys as a JWK Set, with an ETag for conditional fetches
+     */
+    public JwkSet jwks() {
+        return keys().getJwks();
+    }
+
+    private KeySet keys() {
+        KeySet current = keySet;
+        Instant now = clock.instant();
+        if (current != null && now.isBefore(current.getRefreshAt())) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = keySet;
+            if (current != null && now.isBefore(current.getRefreshAt())) {
+                return current;
+            }
+            reload(current, now);
+            return keySet;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private SigningKey reloadForUnknownKid(String kid) {
+        Instant now = clock.instant();
+        if (now.isBefore(unknownKidReloadedAt.plus(config.getUnknownKidReloadInterval()))) {
+            return null;
+        }
+        loadLock.lock();
+        try {
+            KeySet current = keySet;
+            SigningKey key = current.getByKid().get(kid);
+            if (key != null || now.isBefore(unknownKidReloadedAt.plus(config.getUnknownKidReloadInterval()))) {
+                return key;
+            }
+            unknownKidReloadedAt = now;
+            log.debug("Reloading signing keys for unknown kid {}", kid);
+            reload(current, now);
+            return keySet.getByKid().get(kid);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Caller holds loadLock
+    private void reload(KeySet current, Instant now) {
+        try {
+            keySet = load(now);
+        } catch (RuntimeException e) {
+            if (current == null) {
+                throw e;
+            }
+            // Keep signing with the last loaded keys; they stay published for a full period
+            log.warn("Failed to reload signing keys, retrying in {}: {}", RETRY_INTERVAL, e.getMessage());
+            keySet = current.retryAt(now.plus(RETRY_INTERVAL));
+        }
+    }
+
+    private KeySet load(Instant now) {
+        return switch (config.getSource()) {
+            case REDIS -> loadFromRedis(now);
+            case KEYSTORE -> loadFromKeystore();
+            case EPHEMERAL -> {
+                String kid = KID_PREFIX + UUID.randomUUID().toString().substring(0, 8);
+                SigningKey key = new SigningKey(kid, config.getAlgorithm().generateKeyPair(), Instant.EPOCH);
+                log.warn("Using an ephemeral signing key ({}); tokens will not survive a restart", key.getKid());
+                yield KeySet.of(key, List.of(key), Instant.MAX);
+            }
+        };
+    }
+
+    private KeySet loadFromRedis(Instant now) {
+        long periodMillis = config.getRotationInterval().toMillis();
+        long period = now.toEpochMilli() / periodMillis;
+        SigningAlgorithm algorithm = config.getAlgorithm();
+        HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+
+        Map<String, String> stored = hash.entries(config.getRedisKey());
+        for (long p = period; p <= period + 1; p++) {
+            if (!stored.containsKey(kid(p, algorithm))) {
+                // Racing replicas each generate one; only the first write is kept
+                hash.putIfAbsent(config.getRedisKey(), kid(p, algorithm), encode(kid(p, algorithm), algorithm.generateKeyPair(), now));
+            }
+        }
+        stored = hash.entries(config.getRedisKey());
+
+        List<SigningKey> published = new ArrayList<>();
+        for (String kid : stored.keySet()) {
+            long p = periodOf(kid);
+            if (p < period - 1) {
+                hash.delete(config.getRedisKey(), kid);
+            } else if (p <= period + 1) {
+                published.add(decode(kid, stored.get(kid)));
+            }
+        }
+        published.sort(Comparator.comparingLong((SigningKey key) -> periodOf(key.getKid()))
+                .thenComparing(SigningKey::getKid));
+
+        SigningKey preferred = published.stream()
+                .filter(key -> key.getKid().equals(kid(period, algorithm)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Signing key " + kid(period, algorithm) + " missing from Redis"));
+        SigningKey active = preferred;
+        Instant periodEnd = Instant.ofEpochMilli((period + 1) * periodMillis);
+        Instant reloadAt = now.plus(config.getReloadInterval());
+        Instant refreshAt = reloadAt.isBefore(periodEnd) ? reloadAt : periodEnd;
+
+        // After an algorithm switch the new key was only just published: keep signing with
+        // this period's other key until verifiers have had publish-lead to fetch it
+        Instant eligibleAt = preferred.getCreatedAt().plus(config.getPublishLead());
+        if (now.isBefore(eligibleAt)) {
+            Optional<SigningKey> established = published.stream()
+                    .filter(key -> periodOf(key.getKid()) == period && key != preferred)
+                    .filter(key -> !now.isBefore(key.getCreatedAt().plus(config.getPublishLead())))
+                    .findFirst();
+            if (established.isPresent()) {
+                active = established.get();
+                refreshAt = eligibleAt.isBefore(refreshAt) ? eligibleAt : refreshAt;
+            }
+        }
+
+        KeySet loaded = KeySet.of(active, published, refreshAt);
+        KeySet previous = keySet;
+        // Re-read every reload-interval; only a change is worth an info line
+        if (previous == null || !previous.getActive().getKid().equals(active.getKid())
+                || !previous.getByKid().keySet().equals(loaded.getByKid().keySet())) {
+            log.info("Loaded signing keys {} (active {})",
+                    published.stream().map(SigningKey::getKid).toList(), active.getKid());
+        }
+        return loaded;
+    }
+
+    private KeySet loadFromKeystore() {
+        char[] password = config.getKeystorePassword().toCharArray();
+        try (InputStream in = Files.newInputStream(Path.of(config.getKeystorePath()))) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+
+            List<SigningKey> published = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (keyStore.isKeyEntry(alias)) {
+                    PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, password);
+                    PublicKey publicKey = keyStore.getCertificate(alias).getPublicKey();
+                    published.add(new SigningKey(alias, new KeyPair(publicKey, privateKey), Instant.EPOCH));
+                }
+            }
+
+            String activeKid = config.getActiveKid();
+            boolean onlyKey = activeKid == null || activeKid.isBlank();
+            SigningKey active = published.stream()
+                    .filter(key -> onlyKey ? published.size() == 1 : key.getKid().equals(activeKid))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Keystore " + config.getKeystorePath() + " has no signing key for active-kid " + activeKid));
+            log.info("Loaded signing keys {} from {} (active {})",
+                    published.stream().map(SigningKey::getKid).toList(), config.getKeystorePath(), active.getKid());
+            return KeySet.of(active, published, Instant.MAX);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to load keystore " + config.getKeystorePath(), e);
+        }
+    }
+
+    // e.g. oddiya-700-es256
+    static String kid(long period, SigningAlgorithm algorithm) {
+        return KID_PREFIX + period + "-" + algorithm.getJwaName().toLowerCase(Locale.ROOT);
+    }
+
+    private static long periodOf(String kid) {
+        try {
+            int end = kid.indexOf('-', KID_PREFIX.length());
+            return Long.parseLong(kid.substring(KID_PREFIX.length(), end < 0 ? kid.length() : end));
+        } catch (RuntimeException e) {
+            return Long.MIN_VALUE;  // not ours; pruned
+        }
+    }
+
+    // "<JCA algorithm>:<base64 IV + AES-GCM(PKCS#8 private)>:<base64 X.509 public>:<created epoch millis>"
+    String encode(String kid, KeyPair keyPair, Instant createdAt) {
+        Base64.Encoder base64 = Base64.getEncoder();
+        String algorithm = keyPair.getPrivate().getAlgorithm();
+        String publicKey = base64.encodeToString(keyPair.getPublic().getEncoded());
+        String created = Long.toString(createdAt.toEpochMilli());
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(KEY_CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData(kid, algorithm, publicKey, created));
+            byte[] sealed = cipher.doFinal(keyPair.getPrivate().getEncoded());
+            byte[] ivAndSealed = new byte[iv.length + sealed.length];
+            System.arraycopy(iv, 0, ivAndSealed, 0, iv.length);
+            System.arraycopy(sealed, 0, ivAndSealed, iv.length, sealed.length);
+            return algorithm + ":" + base64.encodeToString(ivAndSealed) + ":" + publicKey + ":" + created;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt signing key " + kid, e);
+        }
+    }
+
+    SigningKey decode(String kid, String encoded) {
+        String[] parts = encoded.split(":");
+        try {
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("expected 4 fields, got " + parts.length);
+            }
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] ivAndSealed = base64.decode(parts[1]);
+            Cipher cipher = Cipher.getInstance(KEY_CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, ivAndSealed, 0, IV_BYTES));
+            cipher.updateAAD(associatedData(kid, parts[0], parts[2], parts[3]));
+            byte[] pkcs8 = cipher.doFinal(ivAndSealed, IV_BYTES, ivAndSealed.length - IV_BYTES);
+
+            KeyFactory factory = KeyFactory.getInstance(parts[0]);
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+            PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(base64.decode(parts[2])));
+            Instant createdAt = Instant.ofEpochMilli(Long.parseLong(parts[3]));
+            return new SigningKey(kid, new KeyPair(publicKey, privateKey), createdAt);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            // A wrong encryption-key or a tampered entry both fail the GCM tag check
+            throw new IllegalStateException("Malformed signing key " + kid + " in Redis, or a different jwt.keys.encryption-key", e);
+        }
+    }
+
+    // Binds the ciphertext to its kid and public half, so an entry cannot be moved or re-keyed
+    private static byte[] associatedData(String kid, String algorithm, String publicKey, String created) {
+        return String.join(":", kid, algorithm, publicKey, created).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * JWK Set JSON for /.well-known/jwks.json and its strong ETag
+     */
+    @Value
+    public static class JwkSet {
+        String json;
+        String etag;
+
+        static JwkSet of(List<SigningKey> keys) {
+            String json = keys.stream()
+                    .map(key -> Jwks.json(Jwks.builder()
+                            .key(key.getKeyPair().getPublic())
+                            .id(key.getKid())
+                            .algorithm(key.getAlgorithm().getJwaName())
+                            .publicKeyUse("sig")
+                            .build()))
+                    .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8)) + "\"";
+            return new JwkSet(json, etag);
+        }
+    }
+
+    @Value
+    private static class KeySet {
+        SigningKey active;
+        Map<String, SigningKey> byKid;
+        JwkSet jwks;
+        Instant refreshAt;
+
+        static KeySet of(SigningKey active, List<SigningKey> published, Instant refreshAt) {
+            Map<String, SigningKey> byKid = published.stream()
+                    .collect(Collectors.toUnmodifiableMap(SigningKey::getKid, key -> key));
+            return new KeySet(active, byKid, JwkSet.of(published), refreshAt);
+        }
+
+        KeySet retryAt(Instant retryAt) {
+            return new KeySet(active, byKid, jwks, retryAt);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.exception.InvalidTokenException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes revoked access-token ids (jti) for the gateway to reject
+ *
+ * Revoked ids live in one sorted set scored by token expiry (epoch millis), so entries
+ * drop out once the token would have expired anyway. Every revocation bumps a version
+ * counter; gateways poll the counter and only re-read the set when it has moved.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    // Shared with the gateway (gateway.revocation.key / version-key)
+    static final String REVOKED_KEY = "auth:revoked-jti";
+    static final String VERSION_KEY = "auth:revoked-jti:version";
+
+    private final JwtService jwtService;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * Revoke a signed access token until its expiry
+     * Expired tokens are ignored; tokens that fail verification raise InvalidTokenException.
+     */
+    public void revoke(String accessToken) {
+        VerifiedClaims claims;
+        try {
+            claims = jwtService.verify(accessToken);
+        } catch (ExpiredJwtException e) {
+            return;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid access token", e);
+        }
+
+        String jti = claims.getTokenId();
+        if (jti == null) {
+            // Issued before tokens carried an id; it cannot be revoked individually
+            log.warn("Access token for userId {} has no jti, not revoked", claims.getUserId());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(REVOKED_KEY, jti, claims.getExpiresAt().toEpochMilli());
+        redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, now);
+        redisTemplate.opsForValue().increment(VERSION_KEY);
+    }
+}
@@ -0,0 +1,86 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.UserCacheConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscribes UserLookupCache to user-service's change channel
+ *
+ * Not a container bean: its start fails when Redis is unreachable, and auth-service should
+ * come up anyway. The first subscription is retried here in the background, on a fresh
+ * container each time since a failed one does not start again; once subscribed, the
+ * container recovers lost connections itself.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.user-cache.enabled", matchIfMissing = true)
+class UserChangeSubscriber {
+
+    private static final long RETRY_SECONDS = 5;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final UserLookupCache userLookupCache;
+    private final ChannelTopic topic;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("user-change-subscriber-"));
+
+    private volatile RedisMessageListenerContainer container;
+
+    UserChangeSubscriber(RedisConnectionFactory connectionFactory, UserLookupCache userLookupCache,
+                         UserCacheConfig config) {
+        this.connectionFactory = connectionFactory;
+        this.userLookupCache = userLookupCache;
+        this.topic = new ChannelTopic(config.getInvalidationChannel());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void subscribe() {
+        scheduler.execute(this::start);
+    }
+
+    private void start() {
+        RedisMessageListenerContainer candidate = new RedisMessageListenerContainer();
+        candidate.setConnectionFactory(connectionFactory);
+        candidate.addMessageListener(userLookupCache, topic);
+        candidate.afterPropertiesSet();
+        try {
+            candidate.start();
+            container = candidate;
+            log.info("Subscribed to user changes on {}", topic.getTopic());
+        } catch (RuntimeException e) {
+            destroy(candidate);
+            log.warn("Cannot subscribe to user changes, user cache stays off; retrying in {}s: {}",
+                    RETRY_SECONDS, e.getMessage());
+            scheduler.schedule(this::start, RETRY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        if (container != null) {
+            destroy(container);
+        }
+    }
+
+    private static void destroy(RedisMessageListenerContainer container) {
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.debug("Failed to stop user change listener: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.oddiya.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oddiya.auth.config.UserCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches user-service lookups by email and by OAuth provider id
+ *
+ * A returning user logs in without a user-service round trip. user-service publishes the id
+ * of every user it changes on app.user-cache.invalidation-channel, and each replica drops
+ * that user's entries (see UserChangeSubscriber). Until the first subscription succeeds
+ * every lookup goes to user-service. Misses are not cached, so a user signing up is found on
+ * their next login. A lookup that overlaps an invalidation is not cached either, since it
+ * may have read the user from before the change. Invalidations sent while a replica was
+ * reconnecting are lost, so it empties the cache on every (re)subscription; the TTL bounds
+ * anything else.
+ * Metrics:
+ * - cache.* {cache=auth.user-lookups}: hit/miss/eviction counts
+ */
+@Slf4j
+@Service
+public class UserLookupCache implements MessageListener, SubscriptionListener {
+
+    static final String CACHE_NAME = "auth.user-lookups";
+
+    private static final String EMAIL_KEY = "email:";
+    private static final String PROVIDER_KEY = "provider:";
+
+    private final UserServiceClient userServiceClient;
+    private final Cache<String, UserServiceClient.UserResponse> users;  // null when disabled
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile boolean subscribed;
+
+    public UserLookupCache(UserServiceClient userServiceClient, UserCacheConfig config, MeterRegistry meterRegistry) {
+        this.userServiceClient = userServiceClient;
+        if (config.isEnabled()) {
+            this.users = Caffeine.newBuilder()
+                    .maximumSize(config.getMaximumSize())
+                    .expireAfterWrite(config.getTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+        } else {
+            this.users = null;
+        }
+    }
+
+    /**
+     * Find user by email, or null if there is none (see UserServiceClient#findUserByEmail)
+     */
+    public UserServiceClient.UserResponse findUserByEmail(String email) {
+        return lookup(EMAIL_KEY + email, () -> userServiceClient.findUserByEmail(email));
+    }
+
+    /**
+     * Find the user by provider and provider id, asking user-service to create or link them
+     * on a miss
+     */
+    public UserServiceClient.UserResponse createOrFindUser(UserServiceClient.CreateUserRequest request) {
+        return lookup(PROVIDER_KEY + request.getProvider() + ":" + request.getProviderId(),
+                () -> userServiceClient.createOrFindUser(request));
+    }
+
+    /**
+     * Drop every entry of the user
+     */
+    public void evict(Long userId) {
+        if (users == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        users.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evict(Long.valueOf(body.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Unreadable user invalidation '{}', clearing user cache", body);
+            evictAll();
+        }
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        evictAll();
+        subscribed = true;
+    }
+
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        subscribed = false;
+    }
+
+    private void evictAll() {
+        if (users == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        users.invalidateAll();
+    }
+
+    private UserServiceClient.UserResponse lookup(String key, Supplier<UserServiceClient.UserResponse> loader) {
+        if (users == null || !subscribed) {
+            return loader.get();
+        }
+        UserServiceClient.UserResponse cached = users.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long seen = invalidations.get();
+        UserServiceClient.UserResponse user = loader.get();
+        if (user != null) {
+            users.put(key, user);
+            // Checked after the put: an invalidation either sees the entry or is seen here
+            if (invalidations.get() != seen) {
+                users.asMap().remove(key, user);
+            }
+        }
+        return user;
+    }
+}
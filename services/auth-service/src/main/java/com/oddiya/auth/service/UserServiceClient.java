@@ -5,21 +5,27 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 public class UserServiceClient {
 
-    @Value("${app.user-service.url}")
-    private String userServiceUrl;
+    // user-service's limit per batch request, per kind of key
+    static final int MAX_BATCH_SIZE = 500;
 
     private final WebClient webClient;
 
-    public UserServiceClient(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.baseUrl("http://localhost:8082").build();
+    public UserServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${app.user-service.url:http://localhost:8082}") String userServiceUrl) {
+        this.webClient = webClientBuilder.clone().baseUrl(userServiceUrl).build();
     }
 
     /**
@@ -42,7 +48,9 @@ public class UserServiceClient {
     }
 
     /**
-     * Find user by email
+     * Find user by email, or null if there is none
+     * Any other failure (timeout, 5xx, no free connection) is thrown, not reported as an
+     * unknown user, so an overloaded user-service does not turn into "invalid password".
      */
     public UserResponse findUserByEmail(String email) {
         try {
@@ -50,11 +58,12 @@ public class UserServiceClient {
                     .uri("/api/v1/users/internal/users/email/{email}", email)
                     .retrieve()
                     .bodyToMono(UserResponse.class)
+                    .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
                     .timeout(Duration.ofSeconds(5))
                     .block();
         } catch (Exception e) {
             log.error("Failed to find user by email in User Service", e);
-            return null;  // Return null if not found
+            throw new RuntimeException("Failed to communicate with User Service", e);
         }
     }
 
@@ -76,6 +85,45 @@ public class UserServiceClient {
         }
     }
 
+    /**
+     * Look up many users by id; unknown ids are left out
+     * Sent MAX_BATCH_SIZE ids per request, so N users cost N/500 round trips instead of N.
+     */
+    public List<UserSummary> findUsersByIds(Collection<Long> ids) {
+        return findUsers(List.copyOf(ids), chunk -> new BatchUserRequest(chunk, List.of()));
+    }
+
+    /**
+     * Look up many users by email; unknown emails are left out
+     */
+    public List<UserSummary> findUsersByEmails(Collection<String> emails) {
+        return findUsers(List.copyOf(emails), chunk -> new BatchUserRequest(List.of(), chunk));
+    }
+
+    private <T> List<UserSummary> findUsers(List<T> keys, Function<List<T>, BatchUserRequest> request) {
+        List<UserSummary> users = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += MAX_BATCH_SIZE) {
+            List<T> chunk = keys.subList(from, Math.min(from + MAX_BATCH_SIZE, keys.size()));
+            try {
+                List<UserSummary> found = webClient.post()
+                        .uri("/api/v1/users/internal/users/batch")
+                        .bodyValue(request.apply(chunk))
+                        .retrieve()
+                        .bodyToFlux(UserSummary.class)
+                        .collectList()
+                        .timeout(Duration.ofSeconds(5))
+                        .block();
+                if (found != null) {
+                    users.addAll(found);
+                }
+            } catch (Exception e) {
+                log.error("Failed to look up users in User Service", e);
+                throw new RuntimeException("Failed to communicate with User Service", e);
+            }
+        }
+        return users;
+    }
+
     @lombok.Data
     @lombok.AllArgsConstructor
     @lombok.NoArgsConstructor
@@ -107,5 +155,22 @@ public class UserServiceClient {
         private String providerId;
         private String passwordHash;  // For email/password authentication
     }
-}
 
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    public static class BatchUserRequest {
+        private List<Long> ids;
+        private List<String> emails;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    @lombok.NoArgsConstructor
+    public static class UserSummary {
+        private Long id;
+        private String email;
+        private String name;
+        private String provider;
+    }
+}
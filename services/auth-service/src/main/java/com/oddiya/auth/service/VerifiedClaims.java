@@ -0,0 +1,16 @@
+package com.oddiya.auth.service;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Claims of an access token whose signature and validity window have been checked
+ */
+@Value
+public class VerifiedClaims {
+    Long userId;
+    String email;
+    String tokenId;  // jti; null for tokens issued before ids were assigned
+    Instant expiresAt;
+}
@@ -0,0 +1,33 @@
+-- Rotate a refresh token within its family in one step, so two concurrent refreshes
+-- with the same token cannot both succeed
+-- KEYS[1]: presented token, KEYS[2]: its family (holds the family's current token),
+-- KEYS[3]: replacement token
+-- ARGV[1]: presented token, ARGV[2]: replacement token, ARGV[3]: ttl (seconds),
+-- ARGV[4]: 1 if the presented token predates families; KEYS[2] is then a new family
+-- Returns {result, user id}: 1 rotated, 0 unknown or expired, -1 reuse detected
+-- (the family is revoked now), -2 family already revoked
+local user_id = redis.call('GET', KEYS[1])
+if not user_id then
+    return {0, ''}
+end
+
+if ARGV[4] == '1' then
+    -- Single use, then it continues as a new family
+    redis.call('DEL', KEYS[1])
+else
+    local current = redis.call('GET', KEYS[2])
+    if not current then
+        return {-2, user_id}
+    end
+    if current ~= ARGV[1] then
+        -- A token that was already rotated came back, so someone else holds a copy:
+        -- end the family, including the token its legitimate holder has now
+        redis.call('DEL', KEYS[2])
+        return {-1, user_id}
+    end
+    -- Rotated tokens stay until they expire, so reuse is detected for their lifetime
+end
+
+redis.call('SET', KEYS[3], user_id, 'EX', ARGV[3])
+redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3])
+return {1, user_id}
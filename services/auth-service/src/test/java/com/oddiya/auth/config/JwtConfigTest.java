@@ -2,7 +2,7 @@ package com.oddiya.auth.config;
 
 import org.junit.jupiter.api.Test;
 
-import java.security.KeyPair;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,22 +17,17 @@ class JwtConfigTest {
         assertThat(config).isNotNull();
         assertThat(config.getAccessTokenValidity()).isEqualTo(3600L);
         assertThat(config.getRefreshTokenValidity()).isEqualTo(1209600L);
-        assertThat(config.getKeyPair()).isNotNull();
     }
 
     @Test
-    void testKeyPairIsValid() {
-        // Given
-        JwtConfig config = new JwtConfig();
-
-        // When
-        KeyPair keyPair = config.getKeyPair();
+    void testKeyDefaults() {
+        // Given & When
+        JwtConfig.Keys keys = new JwtConfig().getKeys();
 
         // Then
-        assertThat(keyPair.getPrivate()).isNotNull();
-        assertThat(keyPair.getPublic()).isNotNull();
-        assertThat(keyPair.getPublic().getAlgorithm()).isEqualTo("RSA");
+        assertThat(keys.getSource()).isEqualTo(JwtConfig.Source.EPHEMERAL);
+        assertThat(keys.getRotationInterval()).isEqualTo(Duration.ofDays(30));
+        assertThat(keys.getJwksMaxAge()).isEqualTo(Duration.ofMinutes(10));
     }
 
 }
-
@@ -0,0 +1,144 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.GoogleIdTokenConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against a local stand-in for Google's certs endpoint (src/test/resources/google)
+ */
+class GoogleTokenVerificationServiceTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+
+    private HttpServer certsServer;
+    private final AtomicInteger certsRequests = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private GoogleTokenVerificationService service;
+    private PrivateKey signingKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        byte[] certs = ("{\"test-kid\": \"" + resource("cert.pem").replace("\n", "\\n") + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        certsServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        certsServer.createContext("/oauth2/v1/certs", exchange -> {
+            certsRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, certs.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(certs);
+            }
+        });
+        certsServer.start();
+
+        GoogleIdTokenConfig config = new GoogleIdTokenConfig();
+        config.setCertsUrl("http://127.0.0.1:" + certsServer.getAddress().getPort() + "/oauth2/v1/certs");
+        meterRegistry = new SimpleMeterRegistry();
+        service = new GoogleTokenVerificationService(CLIENT_ID, config, meterRegistry);
+
+        String pem = resource("key.pem").replaceAll("-----[A-Z ]+-----|\\s", "");
+        signingKey = KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(pem)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.shutdown();
+        certsServer.stop(0);
+    }
+
+    @Test
+    void testVerifyIdToken_AfterPrefetch_NeedsNoCertFetch() throws Exception {
+        // Given
+        service.refreshCerts();
+
+        // When
+        GoogleTokenVerificationService.GoogleUserInfo userInfo = service.verifyIdToken(idToken(CLIENT_ID));
+
+        // Then
+        assertThat(userInfo.getSub()).isEqualTo("g-123");
+        assertThat(userInfo.getEmail()).isEqualTo("a@example.com");
+        assertThat(certsRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testVerifyIdToken_WithSameTokenTwice_VerifiesOnce() {
+        // Given
+        String token = idToken(CLIENT_ID);
+
+        // When
+        service.verifyIdToken(token);
+        GoogleTokenVerificationService.GoogleUserInfo retry = service.verifyIdToken(token);
+
+        // Then
+        assertThat(retry.getSub()).isEqualTo("g-123");
+        assertThat(meterRegistry.get("auth.google.id-token.verification").tag("result", "valid").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testVerifyIdToken_WithOtherAudience_ThrowsAndIsNotCached() {
+        // Given
+        String token = idToken("someone-else.apps.googleusercontent.com");
+
+        // When & Then
+        assertThatThrownBy(() -> service.verifyIdToken(token)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> service.verifyIdToken(token)).isInstanceOf(RuntimeException.class);
+        assertThat(meterRegistry.get("auth.google.id-token.verification").tag("result", "invalid").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testRefreshCerts_SchedulesNextFetchBeforeLibraryWould() throws Exception {
+        // When
+        long dueAt = service.refreshCerts();
+
+        // Then: max-age 3600 s, minus the library's 5 minute skew
+        long expected = Instant.now().plus(Duration.ofMinutes(55)).toEpochMilli();
+        assertThat(dueAt).isBetween(expected - 5_000, expected + 5_000);
+    }
+
+    private String idToken(String audience) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId("test-kid").and()
+                .issuer("https://accounts.google.com")
+                .audience().add(audience).and()
+                .subject("g-123")
+                .claim("email", "a@example.com")
+                .claim("email_verified", true)
+                .claim("name", "A")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(signingKey, Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = GoogleTokenVerificationServiceTest.class.getResourceAsStream("/google/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
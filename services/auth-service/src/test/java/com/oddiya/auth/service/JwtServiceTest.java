@@ -1,10 +1,19 @@
 package com.oddiya.auth.service;
 
 import com.oddiya.auth.config.JwtConfig;
+import com.oddiya.auth.config.SigningAlgorithm;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Instant;
+import java.util.Base64;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtServiceTest {
 
@@ -13,7 +22,7 @@ class JwtServiceTest {
     @BeforeEach
     void setUp() {
         JwtConfig jwtConfig = new JwtConfig();
-        jwtService = new JwtService(jwtConfig);
+        jwtService = new JwtService(jwtConfig, new SigningKeyService(jwtConfig, null));
     }
 
     @Test
@@ -79,5 +88,60 @@ class JwtServiceTest {
         // Then
         assertThat(extractedEmail).isEqualTo(email);
     }
-}
 
+    @Test
+    void testGenerateToken_AssignsUniqueTokenIds() {
+        // When
+        String first = jwtService.generateToken(1L, "test@example.com");
+        String second = jwtService.generateToken(1L, "test@example.com");
+
+        // Then
+        assertThat(jwtService.extractClaim(first, Claims::getId)).isNotBlank()
+                .isNotEqualTo(jwtService.extractClaim(second, Claims::getId));
+    }
+
+    @Test
+    void testVerify_WithValidToken_ReturnsAllClaims() {
+        // Given
+        String token = jwtService.generateToken(42L, "test@example.com");
+
+        // When
+        VerifiedClaims claims = jwtService.verify(token);
+
+        // Then
+        assertThat(claims.getUserId()).isEqualTo(42L);
+        assertThat(claims.getEmail()).isEqualTo("test@example.com");
+        assertThat(claims.getTokenId()).isNotBlank();
+        assertThat(claims.getExpiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void testVerify_WithExpiredToken_ThrowsExpiredJwt() {
+        // Given
+        JwtConfig expiredConfig = new JwtConfig();
+        expiredConfig.setAccessTokenValidity(-60);
+        JwtService expiring = new JwtService(expiredConfig, new SigningKeyService(expiredConfig, null));
+        String token = expiring.generateToken(1L, "test@example.com");
+
+        // When & Then
+        assertThatThrownBy(() -> expiring.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(expiring.validateToken(token)).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(SigningAlgorithm.class)
+    void testVerify_WithEachSigningAlgorithm_RoundTrips(SigningAlgorithm algorithm) {
+        // Given
+        JwtConfig config = new JwtConfig();
+        config.getKeys().setAlgorithm(algorithm);
+        JwtService service = new JwtService(config, new SigningKeyService(config, null));
+
+        // When
+        String token = service.generateToken(7L, "test@example.com");
+
+        // Then
+        assertThat(service.verify(token).getUserId()).isEqualTo(7L);
+        assertThat(new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')))))
+                .contains("\"alg\":\"" + algorithm.getJwaName() + "\"");
+    }
+}
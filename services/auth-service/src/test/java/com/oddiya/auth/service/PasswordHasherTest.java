@@ -0,0 +1,96 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.PasswordHashingConfig;
+import com.oddiya.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testMatches_RunsOnPoolAndRecordsLatency() {
+        // Given
+        passwordHasher = new PasswordHasher(NoOpPasswordEncoder.getInstance(), config(1, 1), meterRegistry);
+
+        // When
+        boolean matches = passwordHasher.matches("secret", "secret");
+
+        // Then
+        assertThat(matches).isTrue();
+        assertThat(meterRegistry.get("auth.password-hash.duration").tag("operation", "matches").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password-hash.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testEncode_WithPoolAndQueueFull_RejectsWithRetryAfter() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(blockingEncoder(started, release), config(1, 1), meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("b"));
+        while (meterRegistry.get("auth.password-hash.queue-depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> passwordHasher.encode("c"))
+                .isInstanceOf(PasswordHashingBusyException.class)
+                .extracting(e -> ((PasswordHashingBusyException) e).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("auth.password-hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+    }
+
+    private static PasswordHashingConfig config(int threads, int queueCapacity) {
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        config.setThreads(threads);
+        config.setQueueCapacity(queueCapacity);
+        config.setRetryAfter(Duration.ofSeconds(2));
+        return config;
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import com.oddiya.auth.exception.InvalidTokenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final String SECRET = "c2lnbmVkLXJlZnJlc2gtdG9rZW4tdGVzdC1zZWNyZXQtMzItYnl0ZXMh";
+
+    private RedisTemplate<String, String> redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        refreshTokenService = new RefreshTokenService(redisTemplate, new JwtConfig(), meterRegistry);
+    }
+
+    @Test
+    void testRotate_WithCurrentToken_ReturnsSuccessorInSameFamily() {
+        // Given
+        String token = "family-1.secret-1";
+        scriptReplies(1L, "42");
+
+        // When
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        // Then
+        assertThat(rotation.getUserId()).isEqualTo(42L);
+        assertThat(rotation.getRefreshToken()).startsWith("family-1.").isNotEqualTo(token);
+        assertThat(meterRegistry.get("auth.refresh.duration").tag("result", "rotated").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRotate_WithRotatedToken_RevokesFamilyAndCountsReuse() {
+        // Given
+        scriptReplies(-1L, "42");
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotate("family-1.secret-0"))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThat(meterRegistry.get("auth.refresh.reuse-detected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRotate_WithPreFamilyToken_StartsNewFamily() {
+        // Given
+        String legacy = "550e8400-e29b-41d4-a716-446655440000";
+        scriptReplies(1L, "42");
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+
+        // When
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(legacy);
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(),
+                eq(legacy), eq(rotation.getRefreshToken()), eq("1209600"), eq("1"));
+        String family = RefreshTokenService.familyOf(rotation.getRefreshToken());
+        assertThat(keys.getValue()).containsExactly(
+                "refresh_token:" + legacy,
+                "refresh_family:" + family,
+                "refresh_token:" + rotation.getRefreshToken());
+    }
+
+    @Test
+    void testRevoke_WithFamilyToken_DeletesTokenAndFamilyInOneCall() {
+        // When
+        refreshTokenService.revoke("family-1.secret-1");
+
+        // Then
+        verify(redisTemplate).delete(List.of("refresh_token:family-1.secret-1", "refresh_family:family-1"));
+    }
+
+    @Test
+    void testRotate_WithSignedToken_IncrementsRotationWithoutScript() {
+        // Given
+        RefreshTokenService signedService = signedService();
+        String token = signedService.issue(42L);
+
+        // When
+        RefreshTokenService.Rotation first = signedService.rotate(token);
+        RefreshTokenService.Rotation second = signedService.rotate(first.getRefreshToken());
+
+        // Then
+        SignedRefreshTokens tokens = new SignedRefreshTokens(redisTemplate, signedConfig());
+        assertThat(second.getUserId()).isEqualTo(42L);
+        assertThat(tokens.parse(second.getRefreshToken()).getRotation()).isEqualTo(2);
+        assertThat(tokens.parse(second.getRefreshToken()).getFamily()).isEqualTo(tokens.parse(token).getFamily());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void testRotate_WithSignedTokenOfRevokedFamily_ThrowsInvalidToken() {
+        // Given
+        RefreshTokenService signedService = signedService();
+        String token = signedService.issue(42L);
+        String successor = signedService.rotate(token).getRefreshToken();
+
+        // When
+        signedService.revoke(token);
+
+        // Then
+        assertThatThrownBy(() -> signedService.rotate(successor))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThat(meterRegistry.get("auth.refresh.duration").tag("result", "revoked").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRotate_WithRotatedSignedToken_RevokesFamilyAndCountsReuse() {
+        // Given
+        RefreshTokenService signedService = signedService();
+        String token = signedService.issue(42L);
+        String successor = signedService.rotate(token).getRefreshToken();
+
+        // When
+        assertThatThrownBy(() -> signedService.rotate(token))
+                .isInstanceOf(InvalidTokenException.class);
+
+        // Then
+        assertThat(meterRegistry.get("auth.refresh.reuse-detected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.refresh.duration").tag("result", "reused").timer().count()).isEqualTo(1);
+        assertThatThrownBy(() -> signedService.rotate(successor))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void testRotate_WithTamperedSignedToken_ThrowsInvalidToken() {
+        // Given
+        RefreshTokenService signedService = signedService();
+        String token = signedService.issue(42L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertThatThrownBy(() -> signedService.rotate(tampered))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RefreshTokenService signedService() {
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        return new RefreshTokenService(redisTemplate, signedConfig(), meterRegistry);
+    }
+
+    private static JwtConfig signedConfig() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.getRefresh().setMode(JwtConfig.RefreshMode.SIGNED);
+        jwtConfig.getRefresh().setSecret(SECRET);
+        return jwtConfig;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scriptReplies(long result, String userId) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(result, userId));
+    }
+}
@@ -0,0 +1,238 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import com.oddiya.auth.config.SigningAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SigningKeyServiceTest {
+
+    private static final Duration ROTATION = Duration.ofDays(30);
+    private static final long PERIOD = 700;
+    private static final String ENCRYPTION_KEY = "3q2+7wABAgMEBQYHCAkKCwwNDg8QERITFBUWFxgZGhs=";
+
+    private JwtConfig jwtConfig;
+    private RedisTemplate<String, String> redisTemplate;
+    private HashOperations<String, Object, Object> hash;
+    private final Map<String, String> stored = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jwtConfig = new JwtConfig();
+        jwtConfig.getKeys().setSource(JwtConfig.Source.REDIS);
+        jwtConfig.getKeys().setRotationInterval(ROTATION);
+        jwtConfig.getKeys().setEncryptionKey(ENCRYPTION_KEY);
+
+        // Hash operations backed by a map, so putIfAbsent behaves like HSETNX
+        redisTemplate = mock(RedisTemplate.class);
+        hash = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hash);
+        String key = jwtConfig.getKeys().getRedisKey();
+        when(hash.entries(key)).thenAnswer(invocation -> new HashMap<>(stored));
+        when(hash.putIfAbsent(eq(key), anyString(), anyString())).thenAnswer(invocation ->
+                stored.putIfAbsent(invocation.getArgument(1), invocation.getArgument(2)) == null);
+        when(hash.delete(eq(key), anyString())).thenAnswer(invocation ->
+                stored.remove((String) invocation.getArgument(1)) != null ? 1L : 0L);
+    }
+
+    @Test
+    void testActiveKey_WithRedis_PublishesNextPeriodKeyAhead() {
+        // Given
+        SigningKeyService keys = service(at(PERIOD, Duration.ofDays(1)));
+
+        // When
+        SigningKey active = keys.activeKey();
+
+        // Then
+        assertThat(active.getKid()).isEqualTo("oddiya-700-rs256");
+        assertThat(stored).containsOnlyKeys("oddiya-700-rs256", "oddiya-701-rs256");
+        assertThat(keys.publicKey("oddiya-701-rs256")).isNotNull();
+        assertThat(keys.jwks().getJson()).contains("\"kid\":\"oddiya-700-rs256\"", "\"kid\":\"oddiya-701-rs256\"");
+    }
+
+    @Test
+    void testActiveKey_AfterRotation_SignsWithPrepublishedKeyAndKeepsPrevious() {
+        // Given
+        service(at(PERIOD, Duration.ofDays(1))).activeKey();
+        String prepublished = stored.get("oddiya-701-rs256");
+        stored.put("oddiya-698-rs256", prepublished);  // long retired, should be pruned
+
+        // When
+        SigningKeyService keys = service(at(PERIOD + 1, Duration.ofHours(1)));
+        SigningKey active = keys.activeKey();
+
+        // Then
+        assertThat(active.getKid()).isEqualTo("oddiya-701-rs256");
+        assertThat(active.getKeyPair().getPublic())
+                .isEqualTo(keys.decode("oddiya-701-rs256", prepublished).getKeyPair().getPublic());
+        assertThat(keys.publicKey("oddiya-700-rs256")).isNotNull();
+        assertThat(stored).containsOnlyKeys("oddiya-700-rs256", "oddiya-701-rs256", "oddiya-702-rs256");
+    }
+
+    @Test
+    void testActiveKey_AfterAlgorithmSwitch_SignsWithNewKeyOnlyAfterPublishLead() {
+        // Given
+        service(at(PERIOD, Duration.ofDays(1))).activeKey();
+        jwtConfig.getKeys().setAlgorithm(SigningAlgorithm.ES256);
+
+        // When
+        SigningKeyService justSwitched = service(at(PERIOD, Duration.ofDays(2)));
+        SigningKeyService afterLead = service(at(PERIOD, Duration.ofDays(2).plusMinutes(20)));
+
+        // Then
+        assertThat(justSwitched.activeKey().getKid()).isEqualTo("oddiya-700-rs256");
+        assertThat(justSwitched.jwks().getJson()).contains("\"kid\":\"oddiya-700-es256\"", "\"kty\":\"EC\"");
+        assertThat(afterLead.activeKey().getKid()).isEqualTo("oddiya-700-es256");
+        assertThat(afterLead.publicKey("oddiya-700-rs256")).isNotNull();
+    }
+
+    @Test
+    void testPublicKey_WithKidAnotherReplicaWrote_ReloadsAtMostOncePerInterval() {
+        // Given: this replica loaded its keys, then another one switched to ES256
+        SigningKeyService keys = service(at(PERIOD, Duration.ofDays(1)));
+        keys.activeKey();
+        SigningKeyService other = new SigningKeyService(es256Config(), redisTemplate, at(PERIOD, Duration.ofDays(1)));
+        other.activeKey();
+
+        // When
+        boolean verifies = keys.publicKey("oddiya-700-es256") != null;
+        clearInvocations(hash);
+        keys.publicKey("oddiya-700-unknown");
+        keys.publicKey("oddiya-700-unknown");
+
+        // Then
+        assertThat(verifies).isTrue();
+        verify(hash, never()).entries(jwtConfig.getKeys().getRedisKey());
+    }
+
+    @Test
+    void testJwks_AfterReloadInterval_PublishesKeysAnotherReplicaWrote() {
+        // Given
+        AtomicReference<Instant> now = new AtomicReference<>(at(PERIOD, Duration.ofDays(1)).instant());
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> now.get());
+        SigningKeyService keys = service(clock);
+        keys.activeKey();
+        new SigningKeyService(es256Config(), redisTemplate, Clock.fixed(now.get(), ZoneOffset.UTC)).activeKey();
+
+        // When
+        String before = keys.jwks().getJson();
+        now.set(now.get().plus(jwtConfig.getKeys().getReloadInterval()));
+        String after = keys.jwks().getJson();
+
+        // Then
+        assertThat(before).doesNotContain("oddiya-700-es256");
+        assertThat(after).contains("\"kid\":\"oddiya-700-es256\"");
+    }
+
+    @Test
+    void testActiveKey_WithRedis_StoresPrivateKeyEncrypted() {
+        // Given
+        SigningKeyService keys = service(at(PERIOD, Duration.ofDays(1)));
+
+        // When
+        SigningKey active = keys.activeKey();
+
+        // Then
+        String privateKey = Base64.getEncoder().encodeToString(active.getKeyPair().getPrivate().getEncoded());
+        String publicKey = Base64.getEncoder().encodeToString(active.getKeyPair().getPublic().getEncoded());
+        assertThat(stored.get("oddiya-700-rs256")).doesNotContain(privateKey).contains(publicKey);
+    }
+
+    @Test
+    void testActiveKey_WithOtherEncryptionKeyOrTamperedEntry_Throws() {
+        // Given
+        service(at(PERIOD, Duration.ofDays(1))).activeKey();
+        JwtConfig otherKey = new JwtConfig();
+        otherKey.getKeys().setSource(JwtConfig.Source.REDIS);
+        otherKey.getKeys().setRotationInterval(ROTATION);
+        otherKey.getKeys().setEncryptionKey(Base64.getEncoder().encodeToString(new byte[32]));
+        String entry = stored.get("oddiya-701-rs256");  // moved to another kid below
+
+        // When / Then
+        assertThatThrownBy(() -> new SigningKeyService(otherKey, redisTemplate, at(PERIOD, Duration.ofDays(1))).activeKey())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("encryption-key");
+        assertThatThrownBy(() -> service(at(PERIOD, Duration.ofDays(1))).decode("oddiya-702-rs256", entry))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testConstructor_WithRedisAndNoEncryptionKey_Throws() {
+        // Given
+        jwtConfig.getKeys().setEncryptionKey(null);
+
+        // When / Then
+        assertThatThrownBy(() -> new SigningKeyService(jwtConfig, redisTemplate))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jwt.keys.encryption-key is required");
+    }
+
+    @Test
+    void testJwks_WithEd25519Key_PublishesOkpKey() {
+        // Given
+        JwtConfig ed25519 = new JwtConfig();
+        ed25519.getKeys().setAlgorithm(SigningAlgorithm.ED25519);
+
+        // When
+        String json = new SigningKeyService(ed25519, null).jwks().getJson();
+
+        // Then
+        assertThat(json).contains("\"kty\":\"OKP\"", "\"crv\":\"Ed25519\"", "\"alg\":\"EdDSA\"");
+    }
+
+    @Test
+    void testJwks_WithEphemeralKey_PublishesRsaKeyMaterialAndStableEtag() {
+        // Given
+        SigningKeyService keys = new SigningKeyService(new JwtConfig(), null);
+
+        // When
+        SigningKeyService.JwkSet jwks = keys.jwks();
+
+        // Then
+        assertThat(jwks.getJson()).startsWith("{\"keys\":[");
+        assertThat(jwks.getJson()).contains("\"kid\":\"" + keys.activeKey().getKid() + "\"");
+        assertThat(jwks.getJson()).contains("\"n\":", "\"e\":", "\"alg\":\"RS256\"");
+        assertThat(keys.jwks().getEtag()).isEqualTo(jwks.getEtag());
+    }
+
+    private static JwtConfig es256Config() {
+        JwtConfig config = new JwtConfig();
+        config.getKeys().setSource(JwtConfig.Source.REDIS);
+        config.getKeys().setRotationInterval(ROTATION);
+        config.getKeys().setAlgorithm(SigningAlgorithm.ES256);
+        config.getKeys().setEncryptionKey(ENCRYPTION_KEY);
+        return config;
+    }
+
+    private SigningKeyService service(Clock clock) {
+        return new SigningKeyService(jwtConfig, redisTemplate, clock);
+    }
+
+    private static Clock at(long period, Duration into) {
+        Instant start = Instant.ofEpochMilli(period * ROTATION.toMillis());
+        return Clock.fixed(start.plus(into), ZoneOffset.UTC);
+    }
+}
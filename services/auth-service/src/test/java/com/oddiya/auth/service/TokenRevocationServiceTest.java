@@ -0,0 +1,69 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.JwtConfig;
+import com.oddiya.auth.exception.InvalidTokenException;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private JwtService jwtService;
+    private RedisTemplate<String, String> redisTemplate;
+    private ZSetOperations<String, String> zSetOperations;
+    private ValueOperations<String, String> valueOperations;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtService = new JwtService(jwtConfig, new SigningKeyService(jwtConfig, null));
+        redisTemplate = mock(RedisTemplate.class);
+        zSetOperations = mock(ZSetOperations.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        revocationService = new TokenRevocationService(jwtService, redisTemplate);
+    }
+
+    @Test
+    void testRevoke_WithValidToken_PublishesJtiScoredByExpiry() {
+        // Given
+        String token = jwtService.generateToken(1L, "test@example.com");
+        String jti = jwtService.extractClaim(token, Claims::getId);
+        long expiresAt = jwtService.extractClaim(token, Claims::getExpiration).getTime();
+
+        // When
+        revocationService.revoke(token);
+
+        // Then
+        verify(zSetOperations).add(TokenRevocationService.REVOKED_KEY, jti, expiresAt);
+        verify(zSetOperations).removeRangeByScore(eq(TokenRevocationService.REVOKED_KEY), eq(Double.NEGATIVE_INFINITY), anyDouble());
+        verify(valueOperations).increment(TokenRevocationService.VERSION_KEY);
+    }
+
+    @Test
+    void testRevoke_WithForgedToken_ThrowsInvalidToken() {
+        // Given
+        JwtConfig otherConfig = new JwtConfig();
+        String forged = new JwtService(otherConfig, new SigningKeyService(otherConfig, null))
+                .generateToken(1L, "test@example.com");
+
+        // When & Then
+        assertThatThrownBy(() -> revocationService.revoke(forged))
+                .isInstanceOf(InvalidTokenException.class);
+        verifyNoInteractions(zSetOperations, valueOperations);
+    }
+}
@@ -0,0 +1,135 @@
+package com.oddiya.auth.service;
+
+import com.oddiya.auth.config.UserCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupCacheTest {
+
+    private static final String CHANNEL = "user-service:user-changed";
+
+    private UserServiceClient userServiceClient;
+    private UserLookupCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = mock(UserServiceClient.class);
+        cache = new UserLookupCache(userServiceClient, new UserCacheConfig(), new SimpleMeterRegistry());
+        cache.onChannelSubscribed(CHANNEL.getBytes(StandardCharsets.UTF_8), 1);
+    }
+
+    @Test
+    void testCreateOrFindUser_WithReturningUser_CallsUserServiceOnce() {
+        // Given
+        UserServiceClient.CreateUserRequest request = googleRequest();
+        when(userServiceClient.createOrFindUser(request)).thenReturn(user(7L));
+
+        // When
+        cache.createOrFindUser(request);
+        UserServiceClient.UserResponse second = cache.createOrFindUser(request);
+
+        // Then
+        assertThat(second.getId()).isEqualTo(7L);
+        verify(userServiceClient, times(1)).createOrFindUser(request);
+    }
+
+    @Test
+    void testFindUserByEmail_WithUnknownEmail_IsNotCached() {
+        // Given
+        when(userServiceClient.findUserByEmail("new@example.com")).thenReturn(null, user(8L));
+
+        // When
+        cache.findUserByEmail("new@example.com");
+        UserServiceClient.UserResponse afterSignup = cache.findUserByEmail("new@example.com");
+
+        // Then
+        assertThat(afterSignup.getId()).isEqualTo(8L);
+    }
+
+    @Test
+    void testOnMessage_WithChangedUserId_EvictsEveryEntryOfThatUser() {
+        // Given
+        UserServiceClient.CreateUserRequest request = googleRequest();
+        when(userServiceClient.createOrFindUser(request)).thenReturn(user(7L));
+        when(userServiceClient.findUserByEmail("a@example.com")).thenReturn(user(7L));
+        cache.createOrFindUser(request);
+        cache.findUserByEmail("a@example.com");
+
+        // When
+        cache.onMessage(message("7"), null);
+        cache.createOrFindUser(request);
+        cache.findUserByEmail("a@example.com");
+
+        // Then
+        verify(userServiceClient, times(2)).createOrFindUser(request);
+        verify(userServiceClient, times(2)).findUserByEmail("a@example.com");
+    }
+
+    @Test
+    void testFindUserByEmail_WithInvalidationDuringLookup_DoesNotCacheResult() {
+        // Given
+        when(userServiceClient.findUserByEmail("a@example.com")).thenAnswer(invocation -> {
+            cache.evict(7L);  // user-service changed the user while this lookup was in flight
+            return user(7L);
+        });
+
+        // When
+        cache.findUserByEmail("a@example.com");
+        cache.findUserByEmail("a@example.com");
+
+        // Then
+        verify(userServiceClient, times(2)).findUserByEmail("a@example.com");
+    }
+
+    @Test
+    void testFindUserByEmail_BeforeSubscribing_AlwaysCallsUserService() {
+        // Given
+        UserLookupCache unsubscribed = new UserLookupCache(userServiceClient, new UserCacheConfig(), new SimpleMeterRegistry());
+        when(userServiceClient.findUserByEmail("a@example.com")).thenReturn(user(7L));
+
+        // When
+        unsubscribed.findUserByEmail("a@example.com");
+        unsubscribed.findUserByEmail("a@example.com");
+
+        // Then
+        verify(userServiceClient, times(2)).findUserByEmail("a@example.com");
+    }
+
+    @Test
+    void testFindUserByEmail_WhenDisabled_AlwaysCallsUserService() {
+        // Given
+        UserCacheConfig config = new UserCacheConfig();
+        config.setEnabled(false);
+        UserLookupCache disabled = new UserLookupCache(userServiceClient, config, new SimpleMeterRegistry());
+        when(userServiceClient.findUserByEmail("a@example.com")).thenReturn(user(7L));
+
+        // When
+        disabled.findUserByEmail("a@example.com");
+        disabled.findUserByEmail("a@example.com");
+
+        // Then
+        verify(userServiceClient, times(2)).findUserByEmail("a@example.com");
+    }
+
+    private static UserServiceClient.CreateUserRequest googleRequest() {
+        return new UserServiceClient.CreateUserRequest("a@example.com", "A", "google", "g-7");
+    }
+
+    private static UserServiceClient.UserResponse user(Long id) {
+        return new UserServiceClient.UserResponse(id, "a@example.com", "A", "google", "g-7", null);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package com.oddiya.auth.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserServiceClientTest {
+
+    @Test
+    void testFindUserByEmail_WithExistingUser_ReturnsUserFromConfiguredUrl() {
+        // Given
+        AtomicReference<String> requested = new AtomicReference<>();
+        UserServiceClient client = client(request -> {
+            requested.set(request.url().toString());
+            return ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("{\"id\":7,\"email\":\"a@example.com\",\"passwordHash\":\"hash\"}")
+                    .build();
+        });
+
+        // When
+        UserServiceClient.UserResponse user = client.findUserByEmail("a@example.com");
+
+        // Then
+        assertThat(user.getId()).isEqualTo(7L);
+        assertThat(requested.get()).isEqualTo("http://user-service:8082/api/v1/users/internal/users/email/a%40example.com");
+    }
+
+    @Test
+    void testFindUserByEmail_WithUnknownEmail_ReturnsNull() {
+        // Given
+        UserServiceClient client = client(request -> ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        // When
+        UserServiceClient.UserResponse user = client.findUserByEmail("nobody@example.com");
+
+        // Then
+        assertThat(user).isNull();
+    }
+
+    @Test
+    void testFindUserByEmail_WithUserServiceUnavailable_Throws() {
+        // Given
+        UserServiceClient client = client(request -> ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        // When / Then
+        assertThatThrownBy(() -> client.findUserByEmail("a@example.com"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("User Service");
+    }
+
+    @Test
+    void testFindUsersByIds_WithMoreThanOneBatch_SplitsRequests() {
+        // Given
+        AtomicInteger requests = new AtomicInteger();
+        UserServiceClient client = client(request -> {
+            requests.incrementAndGet();
+            assertThat(request.url().getPath()).isEqualTo("/api/v1/users/internal/users/batch");
+            return ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("[{\"id\":1,\"email\":\"a@example.com\",\"name\":\"A\",\"provider\":\"google\"}]")
+                    .build();
+        });
+        List<Long> ids = LongStream.rangeClosed(1, UserServiceClient.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        // When
+        List<UserServiceClient.UserSummary> users = client.findUsersByIds(ids);
+
+        // Then
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(users).hasSize(2).allMatch(user -> user.getId() == 1L);
+    }
+
+    @Test
+    void testFindUsersByEmails_WithUserServiceUnavailable_Throws() {
+        // Given
+        UserServiceClient client = client(request -> ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        // When / Then
+        assertThatThrownBy(() -> client.findUsersByEmails(List.of("a@example.com")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("User Service");
+    }
+
+    private static UserServiceClient client(Function<ClientRequest, ClientResponse> responder) {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(responder.apply(request)));
+        return new UserServiceClient(builder, "http://user-service:8082");
+    }
+}
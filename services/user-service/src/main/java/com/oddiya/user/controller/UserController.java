@@ -1,15 +1,18 @@
 package com.oddiya.user.controller;
 
+import com.oddiya.user.dto.BatchUserRequest;
 import com.oddiya.user.dto.CreateEmailUserRequest;
 import com.oddiya.user.dto.CreateUserRequest;
 import com.oddiya.user.dto.UpdateUserRequest;
 import com.oddiya.user.dto.UserResponse;
+import com.oddiya.user.dto.UserSummary;
 import com.oddiya.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -52,5 +55,10 @@ public class UserController {
         return user.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
-}
 
+    // Internal API - batch lookup by ids and/or emails (up to 500 each)
+    @PostMapping("/internal/users/batch")
+    public ResponseEntity<List<UserSummary>> findUsers(@Valid @RequestBody BatchUserRequest request) {
+        return ResponseEntity.ok(userService.findUsers(request));
+    }
+}
@@ -0,0 +1,28 @@
+package com.oddiya.user.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for looking up many users in one call, by id and/or email
+ * Used by other services' internal batch lookups
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserRequest {
+    public static final int MAX_SIZE = 500;
+
+    @Size(max = MAX_SIZE, message = "At most " + MAX_SIZE + " ids per request")
+    private List<@NotNull Long> ids = new ArrayList<>();
+
+    @Size(max = MAX_SIZE, message = "At most " + MAX_SIZE + " emails per request")
+    private List<@NotNull @Email String> emails = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.oddiya.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact user projection for batch lookups; selected straight from the query, never the
+ * password hash
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String email;
+    private String name;
+    private String provider;
+}
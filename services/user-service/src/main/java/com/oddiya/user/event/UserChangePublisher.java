@@ -0,0 +1,36 @@
+package com.oddiya.user.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes changed user ids on Redis pub/sub so auth-service can drop cached copies
+ *
+ * Sent after commit, so a subscriber that reloads at once reads the new row. Pub/sub is fire
+ * and forget: a failed publish is logged and the subscriber's cache TTL bounds the staleness.
+ */
+@Slf4j
+@Component
+public class UserChangePublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public UserChangePublisher(StringRedisTemplate redisTemplate,
+                               @Value("${app.user-events.channel:user-service:user-changed}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, event.getUserId().toString());
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish change of user {}: {}", event.getUserId(), e.getMessage());
+        }
+    }
+}
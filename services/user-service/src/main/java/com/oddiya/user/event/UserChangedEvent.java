@@ -0,0 +1,11 @@
+package com.oddiya.user.event;
+
+import lombok.Value;
+
+/**
+ * A user's stored fields changed; published inside the transaction that changed them
+ */
+@Value
+public class UserChangedEvent {
+    Long userId;
+}
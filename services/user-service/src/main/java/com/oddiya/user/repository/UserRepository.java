@@ -1,14 +1,28 @@
 package com.oddiya.user.repository;
 
+import com.oddiya.user.dto.UserSummary;
 import com.oddiya.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
+
+    @Query("select new com.oddiya.user.dto.UserSummary(u.id, u.email, u.name, u.provider) from User u where u.id in :ids")
+    List<UserSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    @Query("select new com.oddiya.user.dto.UserSummary(u.id, u.email, u.name, u.provider) from User u where u.email in :emails")
+    List<UserSummary> findSummariesByEmailIn(Collection<String> emails);
+
+    // Both kinds in one query, so a user matched by id and by email comes back once
+    @Query("select new com.oddiya.user.dto.UserSummary(u.id, u.email, u.name, u.provider) from User u where u.id in :ids or u.email in :emails")
+    List<UserSummary> findSummariesByIdInOrEmailIn(Collection<Long> ids, Collection<String> emails);
 }
 
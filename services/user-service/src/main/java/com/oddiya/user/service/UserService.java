@@ -1,21 +1,28 @@
 package com.oddiya.user.service;
 
+import com.oddiya.user.dto.BatchUserRequest;
 import com.oddiya.user.dto.CreateEmailUserRequest;
 import com.oddiya.user.dto.CreateUserRequest;
 import com.oddiya.user.dto.UpdateUserRequest;
 import com.oddiya.user.dto.UserResponse;
+import com.oddiya.user.dto.UserSummary;
 import com.oddiya.user.entity.User;
+import com.oddiya.user.event.UserChangedEvent;
 import com.oddiya.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserResponse getCurrentUser(Long userId) {
         User user = userRepository.findById(userId)
@@ -36,6 +43,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
         return UserResponse.fromEntity(updatedUser);
     }
 
@@ -60,6 +68,7 @@ public class UserService {
             user.setProviderId(request.getProviderId());
             user.setName(request.getName());
             User updatedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId()));
             return UserResponse.fromEntity(updatedUser);
         }
 
@@ -105,5 +114,22 @@ public class UserService {
         return userRepository.findByEmail(email)
                 .map(UserResponse::fromEntity);
     }
-}
 
+    // Internal API - batch lookup in a single query, each user once; unknown keys are left out
+    @Transactional(readOnly = true)
+    public List<UserSummary> findUsers(BatchUserRequest request) {
+        boolean byId = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byEmail = request.getEmails() != null && !request.getEmails().isEmpty();
+        if (byId && byEmail) {
+            return userRepository.findSummariesByIdInOrEmailIn(
+                    new LinkedHashSet<>(request.getIds()), new LinkedHashSet<>(request.getEmails()));
+        }
+        if (byId) {
+            return userRepository.findSummariesByIdIn(new LinkedHashSet<>(request.getIds()));
+        }
+        if (byEmail) {
+            return userRepository.findSummariesByEmailIn(new LinkedHashSet<>(request.getEmails()));
+        }
+        return List.of();
+    }
+}
@@ -1,15 +1,22 @@
 package com.oddiya.user.service;
 
+import com.oddiya.user.dto.BatchUserRequest;
+import com.oddiya.user.dto.CreateUserRequest;
 import com.oddiya.user.dto.UpdateUserRequest;
+import com.oddiya.user.dto.UserSummary;
 import com.oddiya.user.entity.User;
+import com.oddiya.user.event.UserChangedEvent;
 import com.oddiya.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,6 +25,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -57,6 +67,76 @@ class UserServiceTest {
         
         assertNotNull(result);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
     }
-}
 
+    @Test
+    void testFindOrCreateUser_ReturningUserPublishesNoChange() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+
+        when(userRepository.findByProviderAndProviderId("google", "g-1")).thenReturn(Optional.of(user));
+
+        var result = userService.findOrCreateUser(googleRequest());
+
+        assertEquals(1L, result.getId());
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testFindOrCreateUser_LinkingExistingEmailPublishesChange() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setProvider("email");
+
+        when(userRepository.findByProviderAndProviderId("google", "g-1")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.findOrCreateUser(googleRequest());
+
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
+    }
+
+    @Test
+    void testFindUsers_WithDuplicateIds_RunsOneQuery() {
+        BatchUserRequest request = new BatchUserRequest(List.of(1L, 2L, 1L), List.of());
+
+        when(userRepository.findSummariesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                new UserSummary(1L, "a@example.com", "A", "google"),
+                new UserSummary(2L, "b@example.com", "B", "email")));
+
+        var result = userService.findUsers(request);
+
+        assertEquals(2, result.size());
+        verify(userRepository, times(1)).findSummariesByIdIn(Set.of(1L, 2L));
+        verify(userRepository, never()).findSummariesByEmailIn(any());
+    }
+
+    @Test
+    void testFindUsers_WithIdAndEmailOfSameUser_ReturnsItOnce() {
+        BatchUserRequest request = new BatchUserRequest(List.of(1L, 2L), List.of("a@example.com"));
+
+        when(userRepository.findSummariesByIdInOrEmailIn(Set.of(1L, 2L), Set.of("a@example.com"))).thenReturn(List.of(
+                new UserSummary(1L, "a@example.com", "A", "google"),
+                new UserSummary(2L, "b@example.com", "B", "email")));
+
+        var result = userService.findUsers(request);
+
+        assertEquals(List.of(1L, 2L), result.stream().map(UserSummary::getId).toList());
+        verify(userRepository, never()).findSummariesByIdIn(any());
+        verify(userRepository, never()).findSummariesByEmailIn(any());
+    }
+
+    private static CreateUserRequest googleRequest() {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setEmail("test@example.com");
+        request.setName("Test User");
+        request.setProvider("google");
+        request.setProviderId("g-1");
+        return request;
+    }
+}
@@ -4,6 +4,7 @@ Run: locust -f locustfile.py --host=http://localhost:8080
 """
 
 from locust import HttpUser, task, between
+import time
 import uuid
 import random
 
@@ -111,3 +112,70 @@ class DatabaseStressUser(HttpUser):
             }
         )
 
+
+class AuthLoginUser(HttpUser):
+    """
+    Login throughput against a slow user-service (see slow_user_service.py)
+    Run against auth-service directly, with USER_SERVICE_URL pointing at the stub:
+    locust -f locustfile.py --host=http://localhost:8081 --users 1000 --spawn-rate 100 AuthLoginUser
+    """
+
+    wait_time = between(0.5, 1.5)
+
+    @task
+    def login(self):
+        self.client.post(
+            "/api/auth/login",
+            json={
+                "email": f"load{random.randint(1, 10000)}@example.com",
+                "password": "loadtest-password"
+            },
+            name="/api/auth/login"
+        )
+
+
+class AuthMixedUser(HttpUser):
+    """
+    Logins and refreshes together, to check a login burst does not starve refreshes
+    Start the stub with --bcrypt-cost 10 so every login pays a real BCrypt verify:
+    locust -f locustfile.py --host=http://localhost:8081 --users 500 --spawn-rate 50 AuthMixedUser
+    """
+
+    wait_time = between(0.5, 1.5)
+
+    def on_start(self):
+        self.refresh_token = None
+
+    @task(1)
+    def login(self):
+        with self.client.post(
+            "/api/auth/login",
+            json={
+                "email": f"load{random.randint(1, 10000)}@example.com",
+                "password": "loadtest-password"
+            },
+            name="/api/auth/login",
+            catch_response=True
+        ) as response:
+            if response.status_code == 200:
+                self.refresh_token = response.json()["refreshToken"]
+            elif response.status_code == 503:
+                # Shed by the password-hashing pool: expected under overload, honour Retry-After
+                response.success()
+                time.sleep(float(response.headers.get("Retry-After", "1")))
+
+    @task(4)
+    def refresh(self):
+        if not self.refresh_token:
+            return
+        with self.client.post(
+            "/api/auth/refresh",
+            json={"refreshToken": self.refresh_token},
+            name="/api/auth/refresh",
+            catch_response=True
+        ) as response:
+            if response.status_code == 200:
+                self.refresh_token = response.json()["refreshToken"]
+            else:
+                self.refresh_token = None
+                response.failure(f"refresh returned {response.status_code}")
@@ -0,0 +1,71 @@
+"""
+Stand-in for user-service with a fixed response latency, for the auth-service login load test
+Run: python3 slow_user_service.py --port 8082 --latency-ms 500
+
+Every GET /api/v1/users/internal/users/email/{email} answers, after the configured delay,
+with one user whose password is "loadtest-password". By default the hash uses BCrypt cost 4
+so that hashing stays negligible and the test measures how auth-service copes with a slow
+downstream; --bcrypt-cost 10 returns a production-strength hash instead. The delay is an asyncio sleep, so the stub
+itself holds thousands of concurrent lookups without becoming the bottleneck.
+"""
+
+import argparse
+import asyncio
+import json
+
+PASSWORD_HASHES = {
+    4: "$2a$04$aqqKWeOkRqMJyNJDrPFKTe/wwfDBUk6XvKvS4szMuJRejeJp5Z62m",
+    10: "$2a$10$dfXxVjxGC1D61xC8atz2W.k15l1dVZxKvxWJCjOni/pYKGdAmeLiK",
+}
+EMAIL_PREFIX = "/api/v1/users/internal/users/email/"
+
+
+async def handle(reader, writer, latency_seconds, password_hash):
+    try:
+        while True:
+            request_line = await reader.readline()
+            if not request_line:
+                break
+            length = 0
+            while (header := await reader.readline()) not in (b"\r\n", b""):
+                name, _, value = header.decode().partition(":")
+                if name.lower() == "content-length":
+                    length = int(value)
+            if length:
+                await reader.readexactly(length)
+
+            path = request_line.decode().split(" ")[1]
+            if path.startswith(EMAIL_PREFIX):
+                await asyncio.sleep(latency_seconds)
+                status, body = "200 OK", json.dumps({
+                    "id": 1,
+                    "email": path[len(EMAIL_PREFIX):].replace("%40", "@"),
+                    "name": "Load Test",
+                    "provider": "email",
+                    "passwordHash": password_hash,
+                }).encode()
+            else:
+                status, body = "404 Not Found", b"{}"
+            writer.write(f"HTTP/1.1 {status}\r\nContent-Type: application/json\r\n"
+                         f"Content-Length: {len(body)}\r\n\r\n".encode() + body)
+            await writer.drain()
+    except (ConnectionError, asyncio.IncompleteReadError):
+        pass
+    finally:
+        writer.close()
+
+
+async def main(port, latency_seconds, password_hash):
+    server = await asyncio.start_server(
+        lambda reader, writer: handle(reader, writer, latency_seconds, password_hash), "", port, backlog=4096)
+    print(f"Slow user-service on :{port} ({latency_seconds * 1000:.0f} ms per lookup)")
+    await server.serve_forever()
+
+
+if __name__ == "__main__":
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--port", type=int, default=8082)
+    parser.add_argument("--latency-ms", type=int, default=500)
+    parser.add_argument("--bcrypt-cost", type=int, choices=sorted(PASSWORD_HASHES), default=4)
+    args = parser.parse_args()
+    asyncio.run(main(args.port, args.latency_ms / 1000, PASSWORD_HASHES[args.bcrypt_cost]))